@@ -68,6 +68,8 @@ CREATE TABLE IF NOT EXISTS solutions (
                                          title VARCHAR(255) NOT NULL COMMENT '解决方案标题',
                                          difficulty ENUM('简单','中等','困难') NOT NULL DEFAULT '中等' COMMENT '解决难度',
                                          version VARCHAR(50) NOT NULL COMMENT '适用MC版本',
+                                         version_min INT UNSIGNED COMMENT '适用版本区间下界（由version归一化，主*1000000+次*1000+修订）',
+                                         version_max INT UNSIGNED COMMENT '适用版本区间上界（含）',
                                          description TEXT NOT NULL COMMENT '问题描述',
                                          notes TEXT COMMENT '补充说明',
                                          status ENUM('草稿','待审核','已发布') DEFAULT '待审核' COMMENT '审核状态',
@@ -98,6 +100,16 @@ CREATE TABLE IF NOT EXISTS solution_images (
                                                FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '解决方案截图表';
 
+-- 解决方案崩溃特征表
+CREATE TABLE IF NOT EXISTS solution_signatures (
+                                                   id INT AUTO_INCREMENT PRIMARY KEY,
+                                                   solution_id VARCHAR(50) NOT NULL COMMENT '关联方案ID',
+                                                   pattern_type ENUM('exception','mod','message') NOT NULL COMMENT '特征类型：异常类名、模组ID、关键信息片段',
+                                                   pattern VARCHAR(255) NOT NULL COMMENT '特征文本（忽略大小写）',
+                                                   weight SMALLINT UNSIGNED NOT NULL DEFAULT 1 COMMENT '命中权重',
+                                                   FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '解决方案崩溃特征表';
+
 -- ============= 群公告系统 ============= --
 -- 公告主表
 CREATE TABLE IF NOT EXISTS announcements (
@@ -156,8 +168,33 @@ CREATE INDEX idx_solutions_status ON solutions(status);
 CREATE INDEX idx_solutions_category ON solutions(category_id);
 CREATE INDEX idx_steps_solution ON solution_steps(solution_id);
 CREATE INDEX idx_images_solution ON solution_images(solution_id);
+CREATE INDEX idx_signatures_solution ON solution_signatures(solution_id);
+
+CREATE TABLE IF NOT EXISTS crash_clusters (
+                                              fingerprint CHAR(64) PRIMARY KEY COMMENT '根因异常与归一化栈帧的SHA-256',
+                                              exception_type VARCHAR(255) NOT NULL COMMENT '根因异常类型',
+                                              top_frame VARCHAR(512) COMMENT '归一化后的首个栈帧',
+                                              sample_description VARCHAR(255) COMMENT '首次出现时的崩溃描述',
+                                              occurrences BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '出现次数',
+                                              first_seen DATETIME NOT NULL,
+                                              last_seen DATETIME NOT NULL,
+                                              solution_id VARCHAR(50) COMMENT '最近一次匹配到的解决方案',
+                                              FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE SET NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '崩溃聚类统计表';
+CREATE INDEX idx_crash_clusters_occurrences ON crash_clusters(occurrences, last_seen);
+
+CREATE TABLE IF NOT EXISTS solution_counters (
+                                                 solution_id VARCHAR(50) PRIMARY KEY,
+                                                 views BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '浏览次数',
+                                                 helpful BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '“对我有帮助”次数',
+                                                 updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                                 FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '解决方案计数表（定时批量累加）';
 -- 添加复合索引提高查询效率
 CREATE INDEX idx_solutions_search ON solutions(category_id, status, updated_at);
+-- 游标分页索引：按状态/创建者筛选后按(updated_at, id)顺序定位
+CREATE INDEX idx_solutions_status_updated ON solutions(status, updated_at, id);
+CREATE INDEX idx_solutions_creator_updated ON solutions(created_by, status, updated_at, id);
 
 -- 公告系统索引
 CREATE INDEX idx_ann_items_category ON announcement_items(category_id);
@@ -203,13 +240,15 @@ SELECT * FROM (
               ) AS tmp;
 
 -- 5. 初始化解决方案
-INSERT IGNORE INTO solutions (id, category_id, title, difficulty, version, description, notes, status, created_by, reviewed_by)
+INSERT IGNORE INTO solutions (id, category_id, title, difficulty, version, version_min, version_max, description, notes, status, created_by, reviewed_by)
 SELECT
     s.id,
     s.category_id,
     s.title,
     s.difficulty,
     s.version,
+    s.version_min,
+    s.version_max,
     s.description,
     s.notes,
     s.status,
@@ -217,13 +256,13 @@ SELECT
     reviewer.id
 FROM (
          SELECT 's1' AS id, 'startup' AS category_id, '游戏启动崩溃：Exit Code 1' AS title, '中等' AS difficulty,
-                '1.16+' AS version, '在启动Minecraft时...' AS description, '如果使用模组...' AS notes, '已发布' AS status,
+                '1.16+' AS version, 1016000 AS version_min, 2147483647 AS version_max, '在启动Minecraft时...' AS description, '如果使用模组...' AS notes, '已发布' AS status,
                 'admin2' AS creator, 'admin1' AS reviewer
          UNION
-         SELECT 's2', 'network', '联机时出现"Connection Timed Out"错误', '简单', '全版本',
+         SELECT 's2', 'network', '联机时出现"Connection Timed Out"错误', '简单', '全版本', 0, 2147483647,
                 '尝试加入服务器时出现连接超时错误...', '如果使用路由器...', '已发布', 'admin2', 'admin1'
          UNION
-         SELECT 's4', 'mod', '模组加载后游戏崩溃', '简单', '全版本',
+         SELECT 's4', 'mod', '模组加载后游戏崩溃', '简单', '全版本', 0, 2147483647,
                 '安装模组后游戏无法启动或启动后崩溃。', '使用模组管理器如CurseForge...', '已发布', 'admin2', 'admin1'
      ) s
          JOIN users creator ON creator.username = s.creator
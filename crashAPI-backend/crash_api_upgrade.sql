@@ -0,0 +1,49 @@
+-- ============= 已有数据库升级脚本 ============= --
+-- crash_api.sql 中的建表语句均为 CREATE TABLE IF NOT EXISTS，对已建库不会补齐新增列与索引。
+-- 已部署的数据库在升级到本版本前执行一次本脚本（新建库直接执行 crash_api.sql 即可，无需本脚本）。
+USE crash_api;
+
+-- 1. 解决方案适用版本区间
+-- 旧数据的 version_min/version_max 保持 NULL 即可：版本索引对 NULL 行按 version 文本现场解析（VersionRange.parse），
+-- 方案下次被编辑保存时会写入归一化后的区间。
+ALTER TABLE solutions
+    ADD COLUMN version_min INT UNSIGNED COMMENT '适用版本区间下界（由version归一化，主*1000000+次*1000+修订）' AFTER version,
+    ADD COLUMN version_max INT UNSIGNED COMMENT '适用版本区间上界（含）' AFTER version_min;
+
+-- 2. 游标分页索引
+CREATE INDEX idx_solutions_status_updated ON solutions(status, updated_at, id);
+CREATE INDEX idx_solutions_creator_updated ON solutions(created_by, status, updated_at, id);
+
+-- 3. 解决方案崩溃特征表
+CREATE TABLE IF NOT EXISTS solution_signatures (
+                                                   id INT AUTO_INCREMENT PRIMARY KEY,
+                                                   solution_id VARCHAR(50) NOT NULL COMMENT '关联方案ID',
+                                                   pattern_type ENUM('exception','mod','message') NOT NULL COMMENT '特征类型：异常类名、模组ID、关键信息片段',
+                                                   pattern VARCHAR(255) NOT NULL COMMENT '特征文本（忽略大小写）',
+                                                   weight SMALLINT UNSIGNED NOT NULL DEFAULT 1 COMMENT '命中权重',
+                                                   FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '解决方案崩溃特征表';
+CREATE INDEX idx_signatures_solution ON solution_signatures(solution_id);
+
+-- 4. 崩溃聚类统计表
+CREATE TABLE IF NOT EXISTS crash_clusters (
+                                              fingerprint CHAR(64) PRIMARY KEY COMMENT '根因异常与归一化栈帧的SHA-256',
+                                              exception_type VARCHAR(255) NOT NULL COMMENT '根因异常类型',
+                                              top_frame VARCHAR(512) COMMENT '归一化后的首个栈帧',
+                                              sample_description VARCHAR(255) COMMENT '首次出现时的崩溃描述',
+                                              occurrences BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '出现次数',
+                                              first_seen DATETIME NOT NULL,
+                                              last_seen DATETIME NOT NULL,
+                                              solution_id VARCHAR(50) COMMENT '最近一次匹配到的解决方案',
+                                              FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE SET NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '崩溃聚类统计表';
+CREATE INDEX idx_crash_clusters_occurrences ON crash_clusters(occurrences, last_seen);
+
+-- 5. 解决方案计数表
+CREATE TABLE IF NOT EXISTS solution_counters (
+                                                 solution_id VARCHAR(50) PRIMARY KEY,
+                                                 views BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '浏览次数',
+                                                 helpful BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '“对我有帮助”次数',
+                                                 updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                                                 FOREIGN KEY (solution_id) REFERENCES solutions(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT '解决方案计数表（定时批量累加）';
@@ -1,7 +1,9 @@
 package com.github.konstantyn111.crashapi.config;
 
+import com.github.konstantyn111.crashapi.security.CustomUserDetails;
 import com.github.konstantyn111.crashapi.security.CustomUserDetailsService;
 import com.github.konstantyn111.crashapi.service.user.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +12,6 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -48,8 +49,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * <p>
      * 1. 放行OPTIONS预检请求
      * 2. 从Authorization头提取Bearer令牌
-     * 3. 验证令牌有效性并提取用户名
-     * 4. 加载用户详情并设置安全上下文
+     * 3. 一次性验证令牌签名与有效期并取得声明
+     * 4. 由令牌声明重建用户主体（无需查询数据库）并设置安全上下文
      * </p>
      *
      * @param request HTTP请求对象
@@ -75,10 +76,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String username = jwtService.extractUsername(jwt);
+        Claims claims = jwtService.verifyToken(jwt);
+        String username = claims != null ? claims.getSubject() : null;
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            CustomUserDetails userDetails = userDetailsService.loadUserFromClaims(claims);
+            if (userDetails != null && userDetails.isEnabled() && username.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
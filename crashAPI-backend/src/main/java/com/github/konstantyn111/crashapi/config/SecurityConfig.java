@@ -39,6 +39,7 @@ public class SecurityConfig {
             "/api/solutions/categories",
             "/api/solutions",
             "/api/solutions/*",
+            "/api/solutions/*/counters",
             "/crashapi/api/solutions/**"
     );
 
@@ -63,6 +64,7 @@ public class SecurityConfig {
 
                         // developer
                         .requestMatchers("/api/developer/**").hasRole("DEV")
+                        .requestMatchers("/actuator/metrics/**").hasRole("DEV")
 
                         // admin
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
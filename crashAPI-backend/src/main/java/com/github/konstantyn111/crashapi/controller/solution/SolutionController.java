@@ -1,16 +1,28 @@
 package com.github.konstantyn111.crashapi.controller.solution;
 
+import com.github.konstantyn111.crashapi.dto.crash.CrashAnalysisDTO;
+import com.github.konstantyn111.crashapi.dto.crash.CrashClusterDTO;
 import com.github.konstantyn111.crashapi.dto.solution.*;
+import com.github.konstantyn111.crashapi.service.solution.CategoryRegistry;
+import com.github.konstantyn111.crashapi.service.solution.CategoryService;
+import com.github.konstantyn111.crashapi.service.solution.SolutionCrashService;
+import com.github.konstantyn111.crashapi.service.solution.SolutionEngagementService;
 import com.github.konstantyn111.crashapi.service.solution.SolutionService;
+import com.github.konstantyn111.crashapi.service.solution.SolutionVersionStamps;
 import com.github.konstantyn111.crashapi.util.RestResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
@@ -18,32 +30,144 @@ import java.util.List;
 public class SolutionController {
 
     private final SolutionService solutionService;
+    private final SolutionCrashService solutionCrashService;
+    private final SolutionEngagementService solutionEngagementService;
+    private final SolutionVersionStamps versionStamps;
+    private final CategoryService categoryService;
+    private final CategoryRegistry categoryRegistry;
 
     // ==================== 公共接口 ====================
 
     /**
      * 分页获取已发布的解决方案
+     * <p>
+     * view=summary时只返回列表卡片所需的摘要字段；默认view=full返回含步骤与图片的完整内容。
+     * version/categoryId/difficulty可按适用版本、分类与难度筛选，结果附带各分类、各难度的数量。
+     * 支持条件请求：If-None-Match/If-Modified-Since匹配当前版本时返回304。
+     * </p>
      */
     @GetMapping("/solutions")
-    public RestResponse<SolutionPageDto> getPublishedSolutions(Pageable pageable) {
-        SolutionPageDto pageDto = solutionService.getPublishedSolutions(pageable);
+    public ResponseEntity<RestResponse<SolutionPageDto<?>>> getPublishedSolutions(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String difficulty,
+            WebRequest request) {
+        boolean summary = "summary".equalsIgnoreCase(view);
+        long stamp = versionStamps.publishedList();
+        String etag = SolutionVersionStamps.etag("solutions", stamp,
+                summary ? "summary" : "full", pageable.getPageNumber(), pageable.getPageSize(), withTotal,
+                version, categoryId, difficulty);
+        if (request.checkNotModified(etag, stamp)) {
+            return null;
+        }
+        SolutionPageDto<?> pageDto = summary
+                ? solutionService.getPublishedSolutionSummaries(pageable, withTotal, version, categoryId, difficulty)
+                : solutionService.getPublishedSolutions(pageable, withTotal, version, categoryId, difficulty);
+        return conditional(RestResponse.success(pageDto, "获取解决方案列表成功"));
+    }
+
+    /**
+     * 按游标获取已发布的解决方案
+     */
+    @GetMapping("/solutions/cursor")
+    public RestResponse<SolutionCursorPageDto> getPublishedSolutionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        SolutionCursorPageDto pageDto = solutionService.getPublishedSolutionsByCursor(cursor, size);
         return RestResponse.success(pageDto, "获取解决方案列表成功");
     }
 
+    /**
+     * 全文搜索已发布的解决方案
+     */
+    @GetMapping("/solutions/search")
+    public RestResponse<SolutionPageDto<SolutionSearchHitDTO>> searchSolutions(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(required = false) String version,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) String difficulty,
+            Pageable pageable) {
+        return RestResponse.success(solutionService.searchSolutions(q, pageable, version, categoryId, difficulty),
+                "搜索解决方案成功");
+    }
+
+    /**
+     * 根据上传的崩溃日志匹配解决方案
+     * <p>
+     * 请求体为日志原文，服务端流式扫描，不要求一次性读入内存。
+     * </p>
+     */
+    @PostMapping("/solutions/match")
+    public ResponseEntity<RestResponse<List<SolutionMatchDTO>>> matchCrashLog(
+            Reader log,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(solutionCrashService.matchCrashLog(log, limit));
+    }
+
+    /**
+     * 解析上传的崩溃报告或latest.log，返回结构化摘要与匹配的解决方案
+     */
+    @PostMapping("/solutions/analyze")
+    public ResponseEntity<RestResponse<CrashAnalysisDTO>> analyzeCrashLog(
+            Reader log,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(solutionCrashService.analyzeCrashLog(log, limit));
+    }
+
+    /**
+     * 获取热门解决方案，按随时间衰减的浏览、“对我有帮助”与崩溃匹配得分排序
+     */
+    @GetMapping("/solutions/trending")
+    public ResponseEntity<RestResponse<List<SolutionTrendingDTO>>> getTrendingSolutions(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(solutionEngagementService.getTrendingSolutions(categoryId, limit));
+    }
+
     /**
      * 根据ID获取解决方案详情
      */
     @GetMapping("/solutions/{solutionId}")
-    public ResponseEntity<RestResponse<SolutionDTO>> getSolutionById(@PathVariable String solutionId) {
-        return ResponseEntity.ok(solutionService.getSolutionById(solutionId));
+    public ResponseEntity<RestResponse<SolutionDTO>> getSolutionById(@PathVariable String solutionId,
+                                                                    WebRequest request) {
+        // 先于条件请求判断计数，304响应同样算一次浏览
+        solutionEngagementService.recordView(solutionId);
+        long stamp = versionStamps.solution(solutionId);
+        if (request.checkNotModified(SolutionVersionStamps.etag("solution", stamp, solutionId), stamp)) {
+            return null;
+        }
+        return conditional(solutionService.getSolutionById(solutionId));
+    }
+
+    /**
+     * 获取解决方案的浏览与“对我有帮助”计数
+     */
+    @GetMapping("/solutions/{solutionId}/counters")
+    public ResponseEntity<RestResponse<SolutionCountersDTO>> getSolutionCounters(@PathVariable String solutionId) {
+        return ResponseEntity.ok(solutionEngagementService.getSolutionCounters(solutionId));
+    }
+
+    /**
+     * 标记解决方案“对我有帮助”，需要登录
+     */
+    @PostMapping("/solutions/{solutionId}/helpful")
+    public ResponseEntity<RestResponse<SolutionCountersDTO>> markSolutionHelpful(@PathVariable String solutionId) {
+        return ResponseEntity.ok(solutionEngagementService.markSolutionHelpful(solutionId));
     }
 
     /**
      * 获取所有问题分类
      */
     @GetMapping("/solutions/categories")
-    public ResponseEntity<RestResponse<List<CategoryDTO>>> getAllCategories() {
-        return ResponseEntity.ok(solutionService.getAllCategories());
+    public ResponseEntity<RestResponse<List<CategoryDTO>>> getAllCategories(WebRequest request) {
+        long stamp = categoryRegistry.version();
+        if (request.checkNotModified(SolutionVersionStamps.etag("categories", stamp), stamp)) {
+            return null;
+        }
+        return conditional(categoryService.getAllCategories());
     }
 
     // ==================== 管理员接口 ====================
@@ -68,6 +192,25 @@ public class SolutionController {
         return ResponseEntity.ok(solutionService.updateSolutionAdmin(solutionId, updateDTO));
     }
 
+    /**
+     * 按合并补丁部分更新解决方案
+     * <p>
+     * 请求体为JSON Merge Patch，只需包含要修改的字段。
+     * autosave=true时仅暂存补丁，同一草稿的多次自动保存合并后定时写入。
+     * </p>
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PatchMapping(value = "/admin/solutions/{solutionId}",
+            consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<RestResponse<SolutionDTO>> patchSolutionAdmin(
+            @PathVariable String solutionId,
+            @RequestParam(defaultValue = "false") boolean autosave,
+            @RequestBody Map<String, Object> patch) {
+        return ResponseEntity.ok(autosave
+                ? solutionService.autosaveSolutionAdmin(solutionId, patch)
+                : solutionService.patchSolutionAdmin(solutionId, patch));
+    }
+
     /**
      * 删除解决方案
      */
@@ -102,8 +245,79 @@ public class SolutionController {
     @GetMapping("/admin/solutions/my")
     public ResponseEntity<RestResponse<Page<SolutionDTO>>> getMySolutions(
             Pageable pageable,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        return ResponseEntity.ok(solutionService.getMySolutions(pageable, status, withTotal));
+    }
+
+    /**
+     * 按游标获取管理员创建的解决方案
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/admin/solutions/my/cursor")
+    public ResponseEntity<RestResponse<SolutionCursorPageDto>> getMySolutionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String status) {
-        return ResponseEntity.ok(solutionService.getMySolutions(pageable, status));
+        return ResponseEntity.ok(solutionService.getMySolutionsByCursor(cursor, size, status));
+    }
+
+    /**
+     * 获取所有问题分类（管理后台）
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/admin/categories")
+    public ResponseEntity<RestResponse<List<CategoryDTO>>> getAllCategoriesAdmin() {
+        return ResponseEntity.ok(categoryService.getAllCategories());
+    }
+
+    /**
+     * 创建问题分类
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/admin/categories")
+    public ResponseEntity<RestResponse<CategoryDTO>> createCategory(@RequestBody CategoryDTO categoryDTO) {
+        return ResponseEntity.ok(categoryService.createCategory(categoryDTO));
+    }
+
+    /**
+     * 更新问题分类
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PutMapping("/admin/categories/{categoryId}")
+    public ResponseEntity<RestResponse<CategoryDTO>> updateCategory(
+            @PathVariable String categoryId,
+            @RequestBody CategoryDTO categoryDTO) {
+        return ResponseEntity.ok(categoryService.updateCategory(categoryId, categoryDTO));
+    }
+
+    /**
+     * 删除问题分类
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @DeleteMapping("/admin/categories/{categoryId}")
+    public ResponseEntity<RestResponse<Void>> deleteCategory(@PathVariable String categoryId) {
+        return ResponseEntity.ok(categoryService.deleteCategory(categoryId));
+    }
+
+    /**
+     * 获取解决方案的崩溃特征
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/admin/solutions/{solutionId}/signatures")
+    public ResponseEntity<RestResponse<List<SolutionSignatureDTO>>> getSignatures(@PathVariable String solutionId) {
+        return ResponseEntity.ok(solutionCrashService.getSignatures(solutionId));
+    }
+
+    /**
+     * 整体替换解决方案的崩溃特征
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PutMapping("/admin/solutions/{solutionId}/signatures")
+    public ResponseEntity<RestResponse<Void>> replaceSignatures(
+            @PathVariable String solutionId,
+            @RequestBody List<SolutionSignatureDTO> signatures) {
+        return ResponseEntity.ok(solutionCrashService.replaceSignatures(solutionId, signatures));
     }
 
     /**
@@ -115,6 +329,16 @@ public class SolutionController {
         return ResponseEntity.ok(solutionService.getSolutionByIdAdmin(solutionId));
     }
 
+    /**
+     * 获取出现次数最多的崩溃聚类及关联的解决方案
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/admin/crash-clusters")
+    public ResponseEntity<RestResponse<List<CrashClusterDTO>>> getTopCrashClusters(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(solutionCrashService.getTopCrashClusters(limit));
+    }
+
     // ==================== 开发者接口 ====================
 
     /**
@@ -122,8 +346,21 @@ public class SolutionController {
      */
     @PreAuthorize("hasRole('ROLE_DEV')")
     @GetMapping("/developer/solutions/pending")
-    public ResponseEntity<RestResponse<Page<SolutionDTO>>> getPendingSolutions(Pageable pageable) {
-        return ResponseEntity.ok(solutionService.getPendingSolutions(pageable));
+    public ResponseEntity<RestResponse<Page<SolutionDTO>>> getPendingSolutions(
+            Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean withTotal) {
+        return ResponseEntity.ok(solutionService.getPendingSolutions(pageable, withTotal));
+    }
+
+    /**
+     * 按游标获取待审核的解决方案
+     */
+    @PreAuthorize("hasRole('ROLE_DEV')")
+    @GetMapping("/developer/solutions/pending/cursor")
+    public ResponseEntity<RestResponse<SolutionCursorPageDto>> getPendingSolutionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(solutionService.getPendingSolutionsByCursor(cursor, size));
     }
 
     /**
@@ -156,4 +393,12 @@ public class SolutionController {
             @RequestBody SolutionUpdateDTO updateDTO) {
         return ResponseEntity.ok(solutionService.updateSolutionDeveloper(solutionId, updateDTO));
     }
-}
\ No newline at end of file
+
+    /**
+     * 包装可条件请求的响应：成功时要求客户端每次重新验证，失败响应禁止缓存
+     */
+    private <T> ResponseEntity<RestResponse<T>> conditional(RestResponse<T> body) {
+        CacheControl cacheControl = body.isSuccess() ? CacheControl.noCache() : CacheControl.noStore();
+        return ResponseEntity.ok().cacheControl(cacheControl).body(body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.konstantyn111.crashapi.dto.crash;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionMatchDTO;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 崩溃日志分析结果：结构化报告与匹配的解决方案
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrashAnalysisDTO {
+    private CrashReportDTO report;
+    private List<SolutionMatchDTO> matches;
+}
@@ -0,0 +1,24 @@
+package com.github.konstantyn111.crashapi.dto.crash;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 崩溃聚类：同一堆栈指纹的崩溃及其关联的解决方案
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrashClusterDTO {
+    private String fingerprint;
+    private String exceptionType;
+    private String topFrame;
+    private String sampleDescription;
+    private long occurrences;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
+    private String solutionId;
+    private String solutionTitle;
+}
@@ -0,0 +1,60 @@
+package com.github.konstantyn111.crashapi.dto.crash;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 崩溃报告的结构化摘要
+ * <p>
+ * 由流式解析器生成，各列表与映射均有数量上限，体积与原始日志大小无关。
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class CrashReportDTO {
+    private String description;
+    private ExceptionInfo exception;
+    private List<ExceptionInfo> causes = new ArrayList<>();
+    /**
+     * 异常链最深一层的栈帧（原文，去掉前缀“at ”）
+     */
+    private List<String> stackFrames = new ArrayList<>();
+    /**
+     * 堆栈指纹，相同根因的崩溃指纹相同；没有识别到异常时为null
+     */
+    private String fingerprint;
+    private String minecraftVersion;
+    private String javaVersion;
+    private String modLoader;
+    private List<ModInfo> mods = new ArrayList<>();
+    private Map<String, String> affectedLevel = new LinkedHashMap<>();
+    private Map<String, String> systemDetails = new LinkedHashMap<>();
+    private long charsRead;
+    private boolean truncated;
+
+    /**
+     * 异常类型与消息
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExceptionInfo {
+        private String type;
+        private String message;
+    }
+
+    /**
+     * 已加载的模组
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ModInfo {
+        private String id;
+        private String version;
+    }
+}
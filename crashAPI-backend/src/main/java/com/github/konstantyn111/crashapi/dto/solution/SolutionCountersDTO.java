@@ -0,0 +1,16 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+/**
+ * 解决方案的浏览与“对我有帮助”计数，包含尚未写入数据库的增量
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionCountersDTO {
+    private String solutionId;
+    private long views;
+    private long helpful;
+}
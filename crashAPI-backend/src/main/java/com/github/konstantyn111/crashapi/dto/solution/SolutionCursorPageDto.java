@@ -0,0 +1,16 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionCursorPageDto {
+    private List<SolutionDTO> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * 已发布解决方案的分面统计
+ * <p>
+ * 每个分面的数量都应用了其他分面的已选条件（版本条件对两个分面都生效），
+ * 侧栏可直接显示“选择该项后会有多少条结果”。
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionFacetsDTO {
+    private Map<String, Long> categories;
+    private Map<String, Long> difficulties;
+}
@@ -0,0 +1,19 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 崩溃日志匹配到的解决方案
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionMatchDTO {
+    private String solutionId;
+    private String title;
+    private int score;
+    private List<String> matchedPatterns;
+}
@@ -1,5 +1,6 @@
 package com.github.konstantyn111.crashapi.dto.solution;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import org.springframework.data.domain.Page;
 
@@ -10,8 +11,8 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SolutionPageDto {
-    private List<SolutionDTO> content;
+public class SolutionPageDto<T> {
+    private List<T> content;
     private PageableInfo pageable;
     private boolean last;
     private int totalPages;
@@ -22,6 +23,8 @@ public class SolutionPageDto {
     private int number;
     private SortInfo sort;
     private boolean empty;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SolutionFacetsDTO facets;
 
     @Getter
     @Setter
@@ -48,7 +51,7 @@ public class SolutionPageDto {
         private boolean unsorted;
     }
 
-    public static SolutionPageDto fromPage(Page<SolutionDTO> page) {
+    public static <T> SolutionPageDto<T> fromPage(Page<T> page) {
         PageableInfo pageableInfo = PageableInfo.builder()
                 .pageNumber(page.getNumber())
                 .pageSize(page.getSize())
@@ -62,7 +65,7 @@ public class SolutionPageDto {
                 .unpaged(false)
                 .build();
 
-        return SolutionPageDto.builder()
+        return SolutionPageDto.<T>builder()
                 .content(page.getContent())
                 .pageable(pageableInfo)
                 .last(page.isLast())
@@ -0,0 +1,15 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+/**
+ * 搜索命中的解决方案及其相关度得分
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionSearchHitDTO {
+    private SolutionSummaryDTO solution;
+    private double score;
+}
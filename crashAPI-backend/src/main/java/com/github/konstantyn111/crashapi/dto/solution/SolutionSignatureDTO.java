@@ -0,0 +1,16 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+/**
+ * 解决方案崩溃特征
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionSignatureDTO {
+    private String patternType; // exception、mod、message
+    private String pattern;
+    private Integer weight;
+}
@@ -0,0 +1,22 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 解决方案列表摘要，仅包含卡片展示所需字段，不含正文、步骤与图片
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionSummaryDTO {
+    private String id;
+    private String title;
+    private String categoryId;
+    private String categoryName;
+    private String difficulty;
+    private String version;
+    private LocalDateTime updateTime;
+    private String createdByUsername;
+}
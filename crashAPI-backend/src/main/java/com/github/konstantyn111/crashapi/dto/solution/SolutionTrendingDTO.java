@@ -0,0 +1,15 @@
+package com.github.konstantyn111.crashapi.dto.solution;
+
+import lombok.*;
+
+/**
+ * 热门解决方案及其随时间衰减的热度得分
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionTrendingDTO {
+    private SolutionSummaryDTO solution;
+    private double score;
+}
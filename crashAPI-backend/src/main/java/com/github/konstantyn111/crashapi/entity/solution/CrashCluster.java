@@ -0,0 +1,21 @@
+package com.github.konstantyn111.crashapi.entity.solution;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrashCluster {
+    private String fingerprint;
+    private String exceptionType; // 根因异常类型
+    private String topFrame; // 归一化后的首个栈帧
+    private String sampleDescription;
+    private Long occurrences;
+    private LocalDateTime firstSeen;
+    private LocalDateTime lastSeen;
+    private String solutionId; // 最近一次匹配到的解决方案
+    private String solutionTitle; // 仅查询时填充
+}
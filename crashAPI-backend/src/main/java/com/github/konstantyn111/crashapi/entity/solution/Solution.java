@@ -2,6 +2,7 @@ package com.github.konstantyn111.crashapi.entity.solution;
 
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.List;
 import com.github.konstantyn111.crashapi.entity.user.User;
 
 @Data
@@ -15,6 +16,8 @@ public class Solution {
     private String title;
     private String difficulty;
     private String version;
+    private Integer versionMin; // 由version归一化的区间下界
+    private Integer versionMax; // 由version归一化的区间上界
     private String description;
     private String notes;
     private String status; // 草稿、待审核、已发布
@@ -24,4 +27,6 @@ public class Solution {
     private User reviewedByUser;  // 审核者
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<SolutionStep> steps;     // 按序号排列的步骤（仅详情查询填充）
+    private List<SolutionImage> images;   // 按序号排列的图片（仅详情查询填充）
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.github.konstantyn111.crashapi.entity.solution;
+
+import lombok.*;
+
+/**
+ * 按创建者、分类、难度与状态分组的解决方案数量
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionCount {
+    private Long createdBy;
+    private String categoryId;
+    private String difficulty;
+    private String status;
+    private long total;
+}
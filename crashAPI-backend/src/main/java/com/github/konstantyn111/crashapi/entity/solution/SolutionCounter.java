@@ -0,0 +1,13 @@
+package com.github.konstantyn111.crashapi.entity.solution;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionCounter {
+    private String solutionId;
+    private Long views; // 浏览次数，批量写入时为增量
+    private Long helpful; // “对我有帮助”次数，批量写入时为增量
+}
@@ -0,0 +1,16 @@
+package com.github.konstantyn111.crashapi.entity.solution;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolutionSignature {
+    private Integer id;
+    private String solutionId;
+    private String patternType; // exception、mod、message
+    private String pattern;
+    private Integer weight;
+    private String solutionTitle; // 仅匹配引擎加载时填充
+}
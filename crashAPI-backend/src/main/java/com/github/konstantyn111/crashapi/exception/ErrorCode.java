@@ -172,7 +172,13 @@ public enum ErrorCode {
     SOLUTION_CATEGORY_MISMATCH(50013, "解决方案分类不匹配"),
 
     /** 无效的状态操作 */
-    INVALID_OPERATION(50014, "无效的状态操作");
+    INVALID_OPERATION(50014, "无效的状态操作"),
+
+    /** 问题分类已存在 */
+    DUPLICATE_CATEGORY(50015, "问题分类已存在"),
+
+    /** 问题分类仍被解决方案引用 */
+    CATEGORY_IN_USE(50016, "问题分类下仍有解决方案");
 
     /** 业务错误码 */
     private final int code;
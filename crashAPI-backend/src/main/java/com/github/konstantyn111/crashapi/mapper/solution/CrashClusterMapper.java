@@ -0,0 +1,14 @@
+package com.github.konstantyn111.crashapi.mapper.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.CrashCluster;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface CrashClusterMapper {
+    void batchUpsert(@Param("list") List<CrashCluster> clusters);
+
+    List<CrashCluster> findTopClusters(@Param("limit") int limit);
+}
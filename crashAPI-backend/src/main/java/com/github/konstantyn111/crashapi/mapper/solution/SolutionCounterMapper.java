@@ -0,0 +1,15 @@
+package com.github.konstantyn111.crashapi.mapper.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.SolutionCounter;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+@Mapper
+public interface SolutionCounterMapper {
+    void batchIncrement(@Param("list") List<SolutionCounter> deltas);
+
+    Optional<SolutionCounter> findBySolutionId(@Param("solutionId") String solutionId);
+}
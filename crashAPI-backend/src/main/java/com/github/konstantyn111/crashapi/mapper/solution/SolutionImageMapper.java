@@ -9,9 +9,12 @@ import java.util.List;
 @Mapper
 public interface SolutionImageMapper {
     void insert(SolutionImage image);
+    void batchInsert(List<SolutionImage> list);
     void update(SolutionImage image);
+    void updateOrder(SolutionImage image);
     void delete(Long imageId);
     void deleteBySolutionId(String solutionId);
+    void deleteByIds(@Param("ids") List<Integer> ids);
     List<SolutionImage> findImagesBySolutionId(String solutionId);
     List<SolutionImage> findImagesBySolutionIds(@Param("solutionIds") List<String> solutionIds);
 }
\ No newline at end of file
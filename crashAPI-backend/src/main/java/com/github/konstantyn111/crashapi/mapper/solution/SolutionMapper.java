@@ -1,9 +1,11 @@
 package com.github.konstantyn111.crashapi.mapper.solution;
 
 import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionCount;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,5 +38,41 @@ public interface SolutionMapper {
 
     int countPublishedSolutions();
 
+    List<SolutionCount> countGroupByCreatorCategoryStatus();
+
+    List<Solution> findPublishedSolutionSummaries(@Param("offset") int offset,
+                                                  @Param("pageSize") int pageSize);
+
+    List<Solution> findPublishedSolutionsWithDetails(@Param("offset") int offset,
+                                                     @Param("pageSize") int pageSize);
+
+    Optional<Solution> findByIdWithDetails(@Param("solutionId") String solutionId);
+
+    List<Solution> findAllPublishedWithDetails();
+
+    List<Solution> findPublishedByFacets(@Param("categoryId") String categoryId,
+                                         @Param("difficulty") String difficulty,
+                                         @Param("offset") int offset,
+                                         @Param("limit") int limit);
+
+    List<Solution> findPublishedVersionRanges();
+
+    List<Solution> findPublishedSolutionsByIds(@Param("solutionIds") List<String> solutionIds);
+
     Optional<Solution> findPublishedById(@Param("solutionId") String solutionId);
+
+    List<Solution> findPublishedSolutionsAfter(@Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                               @Param("cursorId") String cursorId,
+                                               @Param("limit") int limit);
+
+    List<Solution> findByStatusAfter(@Param("status") String status,
+                                     @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                     @Param("cursorId") String cursorId,
+                                     @Param("limit") int limit);
+
+    List<Solution> findByCreatorAfter(@Param("creatorId") Long creatorId,
+                                      @Param("status") String status,
+                                      @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                      @Param("cursorId") String cursorId,
+                                      @Param("limit") int limit);
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.github.konstantyn111.crashapi.mapper.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.SolutionSignature;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface SolutionSignatureMapper {
+    void batchInsert(@Param("list") List<SolutionSignature> signatures);
+
+    void deleteBySolutionId(@Param("solutionId") String solutionId);
+
+    List<SolutionSignature> findBySolutionId(@Param("solutionId") String solutionId);
+
+    List<SolutionSignature> findPublishedSignatures();
+}
@@ -9,9 +9,12 @@ import java.util.List;
 @Mapper
 public interface SolutionStepMapper {
     void insert(SolutionStep step);
+    void batchInsert(List<SolutionStep> list);
     void update(SolutionStep step);
+    void updateOrder(SolutionStep step);
     void delete(Long stepId);
     void deleteBySolutionId(String solutionId);
+    void deleteByIds(@Param("ids") List<Long> ids);
     List<SolutionStep> findStepsBySolutionId(String solutionId);
     List<SolutionStep> findStepsBySolutionIds(@Param("solutionIds") List<String> solutionIds);
 }
\ No newline at end of file
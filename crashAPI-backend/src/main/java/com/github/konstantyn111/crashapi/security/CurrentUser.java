@@ -0,0 +1,143 @@
+package com.github.konstantyn111.crashapi.security;
+
+import com.github.konstantyn111.crashapi.entity.user.User;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.util.user.UserUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * 当前请求的操作用户
+ * <p>
+ * 请求作用域组件，从安全上下文中的{@link CustomUserDetails}解析当前用户，
+ * 每个请求最多解析一次。身份与角色直接取自认证主体，不访问数据库；
+ * 只有需要完整用户资料（如修改密码、资料）时才通过{@link #load()}查询一次数据库。
+ * </p>
+ */
+@Slf4j
+@Component
+@RequestScope
+public class CurrentUser {
+
+    private final UserMapper userMapper;
+
+    private CustomUserDetails principal;
+    private User loadedUser;
+    private int databaseLookups;
+
+    public CurrentUser(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    /**
+     * 获取当前认证主体
+     *
+     * @throws BusinessException 当前请求未认证时抛出
+     */
+    public CustomUserDetails principal() {
+        if (principal == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails userDetails)) {
+                throw new BusinessException(ErrorCode.UNAUTHORIZED,
+                        HttpStatus.UNAUTHORIZED,
+                        "用户未认证");
+            }
+            principal = userDetails;
+        }
+        return principal;
+    }
+
+    /**
+     * 当前请求是否已认证
+     */
+    public boolean isAuthenticated() {
+        if (principal != null) return true;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof CustomUserDetails;
+    }
+
+    /**
+     * 获取当前用户ID
+     */
+    public Long id() {
+        return principal().getUser().getId();
+    }
+
+    /**
+     * 获取当前用户名
+     */
+    public String username() {
+        return principal().getUsername();
+    }
+
+    /**
+     * 判断当前用户是否拥有指定角色
+     */
+    public boolean hasRole(String roleName) {
+        return principal().hasRole(roleName);
+    }
+
+    /**
+     * 校验当前用户拥有指定角色
+     *
+     * @param requiredRole 需要的角色（如ROLE_ADMIN）
+     * @param roleName 角色显示名称
+     * @return 认证主体中的用户（仅含ID与用户名）
+     * @throws BusinessException 角色不满足时抛出
+     */
+    public User requireRole(String requiredRole, String roleName) {
+        CustomUserDetails userDetails = principal();
+        if (!userDetails.hasRole(requiredRole)) {
+            log.warn("用户：[{}] 正在访问未授权节点！我会永远看着你的~", userDetails.getUsername());
+            throw new BusinessException(ErrorCode.PERMISSION_DENIED,
+                    HttpStatus.FORBIDDEN,
+                    "只有" + roleName + "能执行此操作哟~");
+        }
+        return userDetails.getUser();
+    }
+
+    /**
+     * 校验当前用户拥有管理员权限
+     */
+    public User requireAdmin() {
+        return requireRole(UserUtils.RoleUtils.ADMIN_ROLE, "管理员");
+    }
+
+    /**
+     * 校验当前用户拥有开发者权限
+     */
+    public User requireDeveloper() {
+        return requireRole(UserUtils.RoleUtils.DEVELOPER_ROLE, "开发者");
+    }
+
+    /**
+     * 从数据库加载当前用户完整资料，同一请求内只查询一次
+     *
+     * @return 当前用户实体（请求内独享，可修改后写回）
+     * @throws BusinessException 用户不存在时抛出
+     */
+    public User load() {
+        if (loadedUser == null) {
+            databaseLookups++;
+            Long userId = id();
+            loadedUser = (userId != null ? userMapper.findById(userId) : userMapper.findByUsername(username()))
+                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
+                            HttpStatus.NOT_FOUND,
+                            "用户不存在"));
+        }
+        return loadedUser;
+    }
+
+    /**
+     * 本请求中为解析当前用户而发起的数据库查询次数
+     */
+    public int getDatabaseLookups() {
+        return databaseLookups;
+    }
+}
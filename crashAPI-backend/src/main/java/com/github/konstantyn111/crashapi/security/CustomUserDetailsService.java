@@ -1,32 +1,70 @@
 package com.github.konstantyn111.crashapi.security;
 
 import com.github.konstantyn111.crashapi.entity.user.User;
-import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.service.user.JwtService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserMapper userMapper;
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserSecurityCache userSecurityCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> userOptional = userMapper.findByUsername(username);
+        UserSecurityCache.UserSecurityContext context = userSecurityCache.getByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+        return new CustomUserDetails(context.user(), context.roleNames());
+    }
+
+    /**
+     * 根据已验证的访问令牌声明重建用户主体
+     * <p>
+     * 令牌携带用户ID、角色与安全版本时直接在内存中构建轻量主体，不访问数据库；
+     * 安全版本已过期时返回null。旧格式令牌回退到按用户名加载。
+     * </p>
+     *
+     * @param claims 已验证的令牌声明
+     * @return 用户主体，令牌版本过期时返回null
+     */
+    public CustomUserDetails loadUserFromClaims(Claims claims) {
+        Object userId = claims.get(JwtService.CLAIM_USER_ID);
+        Object roles = claims.get(JwtService.CLAIM_ROLES);
+        Object version = claims.get(JwtService.CLAIM_SECURITY_VERSION);
+
+        if (!(userId instanceof Number id) || !(roles instanceof Collection<?> roleList)
+                || !(version instanceof Number sv)) {
+            return (CustomUserDetails) loadUserByUsername(claims.getSubject());
+        }
 
-        User user = userOptional.orElseThrow(() ->
-                new UsernameNotFoundException("User not found: " + username));
+        if (!securityVersionRegistry.isCurrent(id.longValue(), sv.longValue())) {
+            logger.debug("用户[{}]的访问令牌安全版本已过期", claims.getSubject());
+            return null;
+        }
 
-        //角色名集合
-        Set<String> roleNames = userMapper.findRolesByUserId(user.getId());
+        Set<String> roleNames = new HashSet<>();
+        roleList.forEach(role -> roleNames.add(String.valueOf(role)));
 
+        User user = User.builder()
+                .id(id.longValue())
+                .username(claims.getSubject())
+                .enabled(true)
+                .build();
         return new CustomUserDetails(user, roleNames);
     }
 }
@@ -0,0 +1,64 @@
+package com.github.konstantyn111.crashapi.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户安全版本登记表
+ * <p>
+ * 访问令牌中携带签发时的安全版本号（sv），当用户角色、密码或令牌状态发生变化时
+ * 递增该用户的版本号，旧令牌随即失效，客户端需使用刷新令牌重新签发。
+ * </p>
+ * <p>
+ * 未发生过变更的用户以进程启动时间作为基线版本，因此服务重启前签发的令牌
+ * 会被视为过期，保证重启后不会遗漏此前的撤销操作。版本仅保存在本实例内存中。
+ * </p>
+ */
+@Component
+public class SecurityVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityVersionRegistry.class);
+
+    private final long baseline = System.currentTimeMillis();
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 获取用户当前安全版本
+     *
+     * @param userId 用户ID
+     * @return 当前版本号
+     */
+    public long currentVersion(Long userId) {
+        if (userId == null) {
+            return baseline;
+        }
+        return versions.getOrDefault(userId, baseline);
+    }
+
+    /**
+     * 判断令牌携带的版本是否仍然有效
+     *
+     * @param userId 用户ID
+     * @param tokenVersion 令牌中的版本号
+     * @return 版本未过期返回true
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        return tokenVersion >= currentVersion(userId);
+    }
+
+    /**
+     * 递增用户安全版本，使此前签发的访问令牌全部失效
+     *
+     * @param userId 用户ID
+     */
+    public void bump(Long userId) {
+        if (userId == null) return;
+        long now = Math.max(System.currentTimeMillis(), baseline + 1);
+        long version = versions.merge(userId, now,
+                (previous, current) -> Math.max(previous + 1, current));
+        logger.debug("用户[{}]安全版本已更新为{}", userId, version);
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.konstantyn111.crashapi.security;
+
+import com.github.konstantyn111.crashapi.entity.user.Role;
+import com.github.konstantyn111.crashapi.entity.user.User;
+import com.github.konstantyn111.crashapi.mapper.user.RoleMapper;
+import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.util.cache.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户安全上下文缓存
+ * <p>
+ * 缓存用户实体及其角色集合，按用户ID与用户名双向索引，避免权限校验时重复查询数据库。
+ * 角色变更、密码或资料修改、登出时由对应服务主动失效。
+ * 角色表本身几乎不变，按名称缓存。
+ * </p>
+ * <p>
+ * 缓存中的用户实体为共享实例，调用方只读使用，需要修改时应从数据库重新加载。
+ * </p>
+ */
+@Component
+public class UserSecurityCache {
+
+    /**
+     * 用户安全上下文
+     *
+     * @param user 用户实体
+     * @param roleNames 角色名集合
+     */
+    public record UserSecurityContext(User user, Set<String> roleNames) {
+        public UserSecurityContext {
+            roleNames = roleNames != null ? Set.copyOf(roleNames) : Set.of();
+        }
+
+        public boolean hasRole(String roleName) {
+            return roleNames.contains(roleName);
+        }
+    }
+
+    private final UserMapper userMapper;
+    private final RoleMapper roleMapper;
+    private final BoundedCache<Long, UserSecurityContext> byId;
+    private final BoundedCache<String, Long> idByUsername;
+    private final ConcurrentHashMap<String, Role> rolesByName = new ConcurrentHashMap<>();
+
+    public UserSecurityCache(UserMapper userMapper,
+                             RoleMapper roleMapper,
+                             @Value("${security.user-cache.max-size:5000}") int maxSize,
+                             @Value("${security.user-cache.ttl:300000}") long ttlMillis) {
+        this.userMapper = userMapper;
+        this.roleMapper = roleMapper;
+        this.byId = new BoundedCache<>(maxSize, ttlMillis);
+        this.idByUsername = new BoundedCache<>(maxSize, ttlMillis);
+    }
+
+    /**
+     * 按用户名获取安全上下文，未命中时查询数据库
+     *
+     * @param username 用户名
+     * @return 安全上下文，用户不存在时为空
+     */
+    public Optional<UserSecurityContext> getByUsername(String username) {
+        if (username == null) return Optional.empty();
+        Long userId = idByUsername.get(username);
+        if (userId != null) {
+            UserSecurityContext cached = byId.get(userId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        return userMapper.findByUsername(username).map(this::load);
+    }
+
+    /**
+     * 按用户ID获取安全上下文，未命中时查询数据库
+     *
+     * @param userId 用户ID
+     * @return 安全上下文，用户不存在时为空
+     */
+    public Optional<UserSecurityContext> getById(Long userId) {
+        if (userId == null) return Optional.empty();
+        UserSecurityContext cached = byId.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userMapper.findById(userId).map(this::load);
+    }
+
+    /**
+     * 按名称获取角色
+     *
+     * @param name 角色名
+     * @return 角色，不存在时为空
+     */
+    public Optional<Role> findRole(String name) {
+        Role cached = rolesByName.get(name);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Role> role = roleMapper.findByName(name);
+        role.ifPresent(r -> rolesByName.put(name, r));
+        return role;
+    }
+
+    /**
+     * 使指定用户的缓存失效
+     *
+     * @param userId 用户ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) return;
+        UserSecurityContext cached = byId.get(userId);
+        byId.invalidate(userId);
+        if (cached != null) {
+            idByUsername.invalidate(cached.user().getUsername());
+        }
+    }
+
+    private UserSecurityContext load(User user) {
+        Set<String> roleNames = userMapper.findRolesByUserId(user.getId());
+        UserSecurityContext context = new UserSecurityContext(user, roleNames);
+        byId.put(user.getId(), context);
+        idByUsername.put(user.getUsername(), user.getId());
+        return context;
+    }
+}
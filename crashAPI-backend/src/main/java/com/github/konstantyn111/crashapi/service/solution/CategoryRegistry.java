@@ -0,0 +1,139 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.CategoryDTO;
+import com.github.konstantyn111.crashapi.mapper.solution.CategoryMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 问题分类快照
+ * <p>
+ * 分类极少变化，全部分类以不可变快照常驻内存，分类接口与DTO转换直接读取，不再访问数据库。
+ * 分类增删改在事务提交后重新加载并整体替换快照，读取方要么看到旧快照、要么看到新快照。
+ * </p>
+ * <p>
+ * 每个快照带有严格递增的版本号（毫秒时间），用作分类列表的ETag与Last-Modified。
+ * 应用启动后在后台加载，失败时留待首次读取重试。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CategoryRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryRegistry.class);
+
+    /**
+     * 分类快照
+     *
+     * @param version 版本号
+     * @param categories 按名称排序的分类列表，只读
+     * @param byId 分类ID到分类
+     */
+    public record Snapshot(long version, List<CategoryDTO> categories, Map<String, CategoryDTO> byId) {
+    }
+
+    private final CategoryMapper categoryMapper;
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(() -> {
+            try {
+                reload();
+            } catch (Exception ex) {
+                logger.warn("启动时加载分类快照失败，将在首次读取时重试", ex);
+            }
+        }, "category-registry");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 当前快照，尚未加载时从数据库加载
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 当前快照的版本号，不访问数据库；尚未加载时返回一个不属于任何快照的版本
+     * <p>
+     * 先取版本号再取快照内容，响应内容只会比版本号新，客户端不会以新ETag缓存旧内容。
+     * </p>
+     */
+    public long version() {
+        Snapshot current = snapshot;
+        return current != null ? current.version() : clock.get();
+    }
+
+    public List<CategoryDTO> getAll() {
+        return snapshot().categories();
+    }
+
+    public Optional<CategoryDTO> find(String categoryId) {
+        return categoryId == null ? Optional.empty() : Optional.ofNullable(snapshot().byId().get(categoryId));
+    }
+
+    /**
+     * 分类名称，分类不存在时返回null
+     */
+    public String nameOf(String categoryId) {
+        return find(categoryId).map(CategoryDTO::getName).orElse(null);
+    }
+
+    /**
+     * 从数据库重新加载并替换快照
+     */
+    public synchronized void reload() {
+        List<CategoryDTO> categories = categoryMapper.findAll().stream()
+                .map(SolutionMapperUtil::toCategoryDTO)
+                .toList();
+        Map<String, CategoryDTO> byId = new LinkedHashMap<>();
+        for (CategoryDTO category : categories) {
+            byId.put(category.getId(), category);
+        }
+        long version = clock.updateAndGet(previous -> Math.max(previous + 1, System.currentTimeMillis()));
+        snapshot = new Snapshot(version, categories, Map.copyOf(byId));
+        logger.info("分类快照已加载，共{}个分类，版本{}", categories.size(), version);
+    }
+
+    /**
+     * 在事务提交后重新加载快照
+     */
+    public void refresh() {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                reload();
+            } catch (Exception ex) {
+                // 丢弃旧快照并推进版本，下次读取时重试加载，客户端不会以旧ETag命中304
+                snapshot = null;
+                clock.incrementAndGet();
+                logger.warn("重新加载分类快照失败", ex);
+            }
+        });
+    }
+}
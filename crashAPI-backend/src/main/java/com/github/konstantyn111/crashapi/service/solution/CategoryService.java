@@ -0,0 +1,195 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.CategoryDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Category;
+import com.github.konstantyn111.crashapi.entity.user.User;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.mapper.solution.CategoryMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.SecurityValidationUtils;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * 问题分类服务
+ * <p>
+ * 读取全部来自{@link CategoryRegistry}的内存快照；增删改写库后在事务提交时替换快照，
+ * 分类名称变化时同时清空解决方案读缓存。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
+    private static final Pattern CATEGORY_ID = Pattern.compile("[a-z0-9_-]{1,50}");
+
+    private final CategoryMapper categoryMapper;
+    private final CategoryRegistry categoryRegistry;
+    private final CurrentUser currentUser;
+    private final SolutionCountRegistry solutionCounts;
+    private final SolutionReadCache solutionReadCache;
+    private final SolutionSearchIndex solutionSearchIndex;
+
+    /**
+     * 获取全部分类列表
+     *
+     * @return 包含分类列表的响应结果
+     */
+    public RestResponse<List<CategoryDTO>> getAllCategories() {
+        try {
+            return RestResponse.success(categoryRegistry.getAll(), "获取分类列表成功");
+        } catch (Exception ex) {
+            logger.error("获取分类列表失败", ex);
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "获取分类列表失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 创建分类
+     *
+     * @param categoryDTO 分类数据，ID只能包含小写字母、数字、下划线和连字符
+     * @return 包含新分类的响应结果
+     */
+    @Transactional
+    public RestResponse<CategoryDTO> createCategory(CategoryDTO categoryDTO) {
+        try {
+            User admin = currentUser.requireAdmin();
+            if (categoryDTO.getId() == null || !CATEGORY_ID.matcher(categoryDTO.getId()).matches()) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        HttpStatus.BAD_REQUEST, "分类ID只能包含小写字母、数字、下划线和连字符");
+            }
+            validateFields(categoryDTO);
+            if (categoryRegistry.find(categoryDTO.getId()).isPresent()) {
+                throw duplicate(categoryDTO.getId());
+            }
+
+            Category category = Category.builder()
+                    .id(categoryDTO.getId())
+                    .name(categoryDTO.getName().trim())
+                    .icon(categoryDTO.getIcon())
+                    .description(categoryDTO.getDescription())
+                    .color(categoryDTO.getColor())
+                    .createdBy(admin)
+                    .build();
+            categoryMapper.insert(category);
+            categoryRegistry.refresh();
+
+            return RestResponse.success(SolutionMapperUtil.toCategoryDTO(category), "分类创建成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (DuplicateKeyException ex) {
+            return RestResponse.fail(duplicate(categoryDTO.getId()));
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "创建分类失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 更新分类
+     *
+     * @param categoryId 分类ID
+     * @param categoryDTO 分类数据，整体替换名称、图标、描述与颜色
+     * @return 包含更新后分类的响应结果
+     */
+    @Transactional
+    public RestResponse<CategoryDTO> updateCategory(String categoryId, CategoryDTO categoryDTO) {
+        try {
+            currentUser.requireAdmin();
+            validateFields(categoryDTO);
+            Category category = SecurityValidationUtils.validateCategoryExists(categoryMapper, categoryId);
+            boolean renamed = !Objects.equals(category.getName(), categoryDTO.getName().trim());
+
+            category.setName(categoryDTO.getName().trim());
+            category.setIcon(categoryDTO.getIcon());
+            category.setDescription(categoryDTO.getDescription());
+            category.setColor(categoryDTO.getColor());
+            categoryMapper.update(category);
+            categoryRegistry.refresh();
+            if (renamed) {
+                // 解决方案详情、列表与搜索结果中带有分类名称
+                solutionReadCache.evictAll();
+                solutionSearchIndex.renameCategory(categoryId, category.getName());
+            }
+
+            return RestResponse.success(SolutionMapperUtil.toCategoryDTO(category), "分类更新成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "更新分类失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 删除分类
+     *
+     * @param categoryId 分类ID
+     * @return 操作结果响应
+     */
+    @Transactional
+    public RestResponse<Void> deleteCategory(String categoryId) {
+        try {
+            currentUser.requireAdmin();
+            SecurityValidationUtils.validateCategoryExists(categoryMapper, categoryId);
+            if (solutionCounts.countByCategory(categoryId, null) > 0) {
+                throw inUse();
+            }
+
+            categoryMapper.delete(categoryId);
+            categoryRegistry.refresh();
+
+            return RestResponse.success("分类删除成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (DataIntegrityViolationException ex) {
+            // 计数登记表可能尚未反映刚创建的解决方案，以外键约束为准
+            return RestResponse.fail(inUse());
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "删除分类失败: " + ex.getMessage());
+        }
+    }
+
+    private static void validateFields(CategoryDTO categoryDTO) {
+        if (categoryDTO.getName() == null || categoryDTO.getName().isBlank()) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, HttpStatus.BAD_REQUEST, "分类名称不能为空");
+        }
+        validateLength("分类名称", categoryDTO.getName().trim(), 50);
+        validateLength("图标", categoryDTO.getIcon(), 100);
+        validateLength("描述", categoryDTO.getDescription(), 255);
+        validateLength("颜色", categoryDTO.getColor(), 20);
+    }
+
+    private static void validateLength(String field, String value, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                    HttpStatus.BAD_REQUEST, field + "不能超过" + maxLength + "个字符");
+        }
+    }
+
+    private static BusinessException duplicate(String categoryId) {
+        return new BusinessException(ErrorCode.DUPLICATE_CATEGORY, HttpStatus.CONFLICT, "分类ID已存在: " + categoryId);
+    }
+
+    private static BusinessException inUse() {
+        return new BusinessException(ErrorCode.CATEGORY_IN_USE, HttpStatus.CONFLICT, "分类下仍有解决方案，无法删除");
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionMatchDTO;
+import com.github.konstantyn111.crashapi.entity.solution.CrashCluster;
+import com.github.konstantyn111.crashapi.mapper.solution.CrashClusterMapper;
+import com.github.konstantyn111.crashapi.util.crash.StackTraceFingerprint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 崩溃聚类计数器
+ * <p>
+ * 分析请求只在内存中按指纹累加，定时把累积的增量用一条批量upsert写入
+ * {@code crash_clusters}，大量重复日志不会逐条写库。
+ * 写入失败时增量放回内存，下次合并重试。
+ * </p>
+ */
+@Component
+public class CrashClusterRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrashClusterRecorder.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_FRAME_LENGTH = 512;
+
+    private final CrashClusterMapper crashClusterMapper;
+    private final int maxPending;
+
+    private final ConcurrentHashMap<String, CrashCluster> pending = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public CrashClusterRecorder(CrashClusterMapper crashClusterMapper,
+                                @Value("${solution.clusters.max-pending:10000}") int maxPending) {
+        this.crashClusterMapper = crashClusterMapper;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 记录一次崩溃
+     *
+     * @param report 解析后的崩溃报告，没有指纹时忽略
+     * @param matches 匹配结果，得分最高的方案作为该簇的关联方案
+     */
+    public void record(CrashReportDTO report, List<SolutionMatchDTO> matches) {
+        String fingerprint = report.getFingerprint();
+        if (fingerprint == null) return;
+        if (pending.size() >= maxPending && !pending.containsKey(fingerprint)) {
+            dropped.incrementAndGet();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String solutionId = matches == null || matches.isEmpty() ? null : matches.get(0).getSolutionId();
+        pending.compute(fingerprint, (key, cluster) -> {
+            if (cluster == null) {
+                return newCluster(report, key, solutionId, now);
+            }
+            cluster.setOccurrences(cluster.getOccurrences() + 1);
+            cluster.setLastSeen(now);
+            if (solutionId != null) {
+                cluster.setSolutionId(solutionId);
+            }
+            return cluster;
+        });
+    }
+
+    /**
+     * 把累积的增量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${solution.clusters.flush-interval:5000}")
+    public synchronized void flush() {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            logger.warn("待写入的崩溃聚类过多，丢弃了{}次记录", lost);
+        }
+        if (pending.isEmpty()) return;
+
+        List<CrashCluster> batch = new ArrayList<>(pending.size());
+        for (String fingerprint : pending.keySet()) {
+            CrashCluster cluster = pending.remove(fingerprint);
+            if (cluster != null) {
+                batch.add(cluster);
+            }
+        }
+        for (int from = 0; from < batch.size(); from += BATCH_SIZE) {
+            List<CrashCluster> chunk = batch.subList(from, Math.min(from + BATCH_SIZE, batch.size()));
+            try {
+                crashClusterMapper.batchUpsert(chunk);
+            } catch (Exception ex) {
+                logger.warn("写入{}个崩溃聚类失败，稍后重试", chunk.size(), ex);
+                chunk.forEach(this::restore);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void restore(CrashCluster failed) {
+        // 关联的方案可能已被删除导致外键失败，重试时不带关联，下次匹配会重新写入
+        failed.setSolutionId(null);
+        pending.merge(failed.getFingerprint(), failed, (current, previous) -> {
+            current.setOccurrences(current.getOccurrences() + previous.getOccurrences());
+            current.setFirstSeen(previous.getFirstSeen());
+            return current;
+        });
+    }
+
+    private static CrashCluster newCluster(CrashReportDTO report, String fingerprint, String solutionId, LocalDateTime now) {
+        List<CrashReportDTO.ExceptionInfo> causes = report.getCauses();
+        String rootType = causes.isEmpty() ? report.getException().getType() : causes.get(causes.size() - 1).getType();
+        String topFrame = report.getStackFrames().isEmpty()
+                ? null
+                : StackTraceFingerprint.normalizeFrame(report.getStackFrames().get(0));
+        return CrashCluster.builder()
+                .fingerprint(fingerprint)
+                .exceptionType(truncate(rootType, MAX_TEXT_LENGTH))
+                .topFrame(truncate(topFrame, MAX_FRAME_LENGTH))
+                .sampleDescription(truncate(report.getDescription(), MAX_TEXT_LENGTH))
+                .occurrences(1L)
+                .firstSeen(now)
+                .lastSeen(now)
+                .solutionId(solutionId)
+                .build();
+    }
+
+    private static String truncate(String text, int maxLength) {
+        return text == null || text.length() <= maxLength ? text : text.substring(0, maxLength);
+    }
+}
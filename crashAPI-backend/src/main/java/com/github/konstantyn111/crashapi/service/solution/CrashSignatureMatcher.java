@@ -0,0 +1,231 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionMatchDTO;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionSignature;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionSignatureMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.search.AhoCorasick;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 崩溃日志特征匹配引擎
+ * <p>
+ * 将全部已发布解决方案的特征（异常类名、模组ID、关键信息片段）编译为一个
+ * {@link AhoCorasick}自动机，对上传的日志只做一次线性扫描，
+ * 按命中特征的权重之和对解决方案排序。同一特征在日志中多次出现只计一次。
+ * </p>
+ * <p>
+ * 自动机不可变，特征或已发布集合变化时在事务提交后整体重建并原子替换，
+ * 扫描过程中无需加锁。
+ * </p>
+ */
+@Component
+public class CrashSignatureMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrashSignatureMatcher.class);
+
+    public static final String TYPE_EXCEPTION = "exception";
+    public static final String TYPE_MOD = "mod";
+    public static final String TYPE_MESSAGE = "message";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * 编译后的自动机及模式ID对应的特征
+     */
+    private record Compiled(AhoCorasick automaton, SolutionSignature[] signatures) {
+    }
+
+    private final SolutionSignatureMapper signatureMapper;
+    private final long maxLogChars;
+
+    private volatile Compiled compiled;
+
+    /**
+     * 已提交的特征变更次数，以及当前自动机读取数据库时已包含的变更次数（由对象锁保护）
+     */
+    private final AtomicLong changes = new AtomicLong();
+    private long builtThrough;
+
+    public CrashSignatureMatcher(SolutionSignatureMapper signatureMapper,
+                                 @Value("${solution.match.max-log-chars:16777216}") long maxLogChars) {
+        this.signatureMapper = signatureMapper;
+        this.maxLogChars = maxLogChars;
+    }
+
+    /**
+     * 特征类型的默认权重
+     */
+    public static int defaultWeight(String patternType) {
+        return switch (patternType) {
+            case TYPE_EXCEPTION -> 3;
+            case TYPE_MOD -> 2;
+            default -> 1;
+        };
+    }
+
+    /**
+     * 应用启动后在后台构建自动机，失败时留待首次匹配重试
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                logger.warn("启动时构建崩溃特征匹配引擎失败，将在首次匹配时重试", ex);
+            }
+        }, "crash-signature-matcher");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 从数据库加载全部已发布解决方案的特征并重建自动机
+     * <p>
+     * 读取期间若有新的变更提交，读到的可能是旧数据，装入后立即再重建一次。
+     * </p>
+     */
+    public synchronized void rebuild() {
+        long seen;
+        do {
+            seen = changes.get();
+            List<SolutionSignature> signatures = signatureMapper.findPublishedSignatures();
+            AhoCorasick.Builder builder = AhoCorasick.builder();
+            for (int i = 0; i < signatures.size(); i++) {
+                builder.add(signatures.get(i).getPattern(), i);
+            }
+            compiled = new Compiled(builder.build(), signatures.toArray(new SolutionSignature[0]));
+            builtThrough = seen;
+            logger.info("崩溃特征匹配引擎构建完成，共{}个特征", signatures.size());
+        } while (changes.get() != seen);
+    }
+
+    /**
+     * 在事务提交后重建自动机
+     * <p>
+     * 先登记变更再判断是否已构建：启动构建进行中时由其发现变更并重建，
+     * 尚未构建时首次匹配读取的已是最新数据；已被其他重建覆盖的变更不再重复重建。
+     * </p>
+     */
+    public void refresh() {
+        TransactionUtils.afterCommit(() -> {
+            long requested = changes.incrementAndGet();
+            if (compiled == null) return;
+            try {
+                synchronized (this) {
+                    if (builtThrough < requested) {
+                        rebuild();
+                    }
+                }
+            } catch (Exception ex) {
+                logger.warn("重建崩溃特征匹配引擎失败", ex);
+            }
+        });
+    }
+
+    /**
+     * 扫描崩溃日志并返回匹配的解决方案
+     * <p>
+     * 按块读取输入，不缓存完整日志；超过长度上限的部分不再扫描。
+     * </p>
+     *
+     * @param log 日志内容
+     * @param limit 最多返回的解决方案数
+     * @return 按得分降序排列的匹配结果
+     * @throws IOException 读取输入失败时抛出
+     */
+    public List<SolutionMatchDTO> match(Reader log, int limit) throws IOException {
+        Session session = newSession();
+        char[] buffer = new char[BUFFER_SIZE];
+        long remaining = maxLogChars;
+        int read;
+        while (remaining > 0 && (read = log.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+            session.feed(buffer, 0, read);
+            remaining -= read;
+        }
+        return session.results(limit);
+    }
+
+    /**
+     * 创建一次扫描会话，供调用方在自己的读取循环中分块输入日志
+     * <p>
+     * 与崩溃报告解析共用一次读取，避免对同一份日志读两遍。
+     * </p>
+     */
+    public Session newSession() {
+        return new Session(ensureBuilt());
+    }
+
+    /**
+     * 单次扫描的状态，非线程安全
+     */
+    public static class Session {
+        private final Compiled compiled;
+        private final AhoCorasick.Scanner scanner;
+        private final BitSet matched;
+
+        private Session(Compiled compiled) {
+            this.compiled = compiled;
+            this.scanner = compiled.automaton().scanner();
+            this.matched = new BitSet(compiled.signatures().length);
+        }
+
+        public void feed(char[] buffer, int offset, int length) {
+            scanner.feed(buffer, offset, length, matched::set);
+        }
+
+        /**
+         * @param limit 最多返回的解决方案数
+         * @return 按得分降序排列的匹配结果
+         */
+        public List<SolutionMatchDTO> results(int limit) {
+            return rank(compiled.signatures(), matched, limit);
+        }
+    }
+
+    private Compiled ensureBuilt() {
+        Compiled current = compiled;
+        if (current == null) {
+            synchronized (this) {
+                if (compiled == null) {
+                    rebuild();
+                }
+                current = compiled;
+            }
+        }
+        return current;
+    }
+
+    private static List<SolutionMatchDTO> rank(SolutionSignature[] signatures, BitSet matched, int limit) {
+        Map<String, SolutionMatchDTO> results = new HashMap<>();
+        for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+            SolutionSignature signature = signatures[i];
+            SolutionMatchDTO result = results.computeIfAbsent(signature.getSolutionId(), id -> SolutionMatchDTO.builder()
+                    .solutionId(id)
+                    .title(signature.getSolutionTitle())
+                    .matchedPatterns(new ArrayList<>())
+                    .build());
+            int weight = signature.getWeight() != null && signature.getWeight() > 0
+                    ? signature.getWeight()
+                    : defaultWeight(signature.getPatternType());
+            result.setScore(result.getScore() + weight);
+            result.getMatchedPatterns().add(signature.getPattern());
+        }
+        return results.values().stream()
+                .sorted(Comparator.comparingInt(SolutionMatchDTO::getScore).reversed()
+                        .thenComparing(SolutionMatchDTO::getSolutionId))
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.util.solution.SolutionPatch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 草稿自动保存缓冲区
+ * <p>
+ * 编辑器的自动保存补丁先按解决方案在内存中合并，定时把每个方案累积的补丁
+ * 作为一次更新写入数据库：无论两次写入之间提交了多少次补丁，
+ * 每个方案在一个刷新周期内最多写库一次，且只写发生变化的字段和子表行。
+ * </p>
+ * <p>
+ * 手动保存会先取出待写入的补丁与之合并，整体替换或删除会直接丢弃，
+ * 避免旧的自动保存覆盖较新的内容。
+ * </p>
+ */
+@Component
+public class SolutionAutosaveBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionAutosaveBuffer.class);
+
+    /**
+     * 待写入的补丁
+     *
+     * @param userId 提交补丁的管理员ID，写入时用于复核归属
+     * @param patch 合并后的补丁
+     */
+    public record Pending(Long userId, SolutionPatch patch) {
+        Pending merge(Pending newer) {
+            return new Pending(newer.userId(), patch.merge(newer.patch()));
+        }
+    }
+
+    private final SolutionService solutionService;
+    private final int maxPending;
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 正在写入数据库的方案，写入完成时结束对应的future。
+     * 只在对应方案的{@code pending.compute}中登记，取出与登记对同一方案互斥。
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> writing = new ConcurrentHashMap<>();
+
+    public SolutionAutosaveBuffer(@Lazy SolutionService solutionService,
+                                  @Value("${solution.autosave.max-pending:1000}") int maxPending) {
+        this.solutionService = solutionService;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 暂存一次自动保存
+     *
+     * @throws BusinessException 当待写入的方案过多时抛出，客户端应改为手动保存
+     */
+    public void submit(String solutionId, Long userId, SolutionPatch patch) {
+        if (pending.size() >= maxPending && !pending.containsKey(solutionId)) {
+            throw new BusinessException(ErrorCode.OPERATION_FAILED,
+                    HttpStatus.SERVICE_UNAVAILABLE, "自动保存繁忙，请手动保存");
+        }
+        pending.merge(solutionId, new Pending(userId, patch), Pending::merge);
+    }
+
+    /**
+     * 取出并移除某方案待写入的补丁
+     * <p>
+     * 只与同一方案的写入互斥：返回时该方案正在写入的自动保存已经提交，调用方随后的读写不会被其覆盖；
+     * 其他方案的写入不会阻塞本次调用。调用方不应持有该方案的行锁，否则写入无法完成。
+     * </p>
+     */
+    public Optional<Pending> take(String solutionId) {
+        while (true) {
+            CompletableFuture<Void> inFlight = writing.get(solutionId);
+            if (inFlight != null) {
+                inFlight.join();
+                continue;
+            }
+            Pending[] taken = new Pending[1];
+            boolean[] busy = new boolean[1];
+            pending.compute(solutionId, (id, entry) -> {
+                if (writing.containsKey(id)) {
+                    busy[0] = true;
+                    return entry;
+                }
+                taken[0] = entry;
+                return null;
+            });
+            if (!busy[0]) {
+                return Optional.ofNullable(taken[0]);
+            }
+        }
+    }
+
+    /**
+     * 放回取出后未能写入的补丁，排在期间新到的补丁之前
+     */
+    public void restore(String solutionId, Pending taken) {
+        pending.merge(solutionId, taken, (newer, old) -> old.merge(newer));
+    }
+
+    /**
+     * 查看某方案待写入的补丁
+     */
+    public Optional<Pending> peek(String solutionId) {
+        return Optional.ofNullable(pending.get(solutionId));
+    }
+
+    /**
+     * 丢弃某方案待写入的补丁
+     */
+    public void discard(String solutionId) {
+        take(solutionId);
+    }
+
+    /**
+     * 把累积的补丁写入数据库，每个方案一个事务
+     */
+    @Scheduled(fixedDelayString = "${solution.autosave.flush-interval:10000}")
+    public void flush() {
+        for (String solutionId : pending.keySet()) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            Pending[] removed = new Pending[1];
+            pending.compute(solutionId, (id, entry) -> {
+                // 另一次刷新（如关闭时）正在写入该方案，留给它之后处理
+                if (entry == null || writing.putIfAbsent(id, done) != null) return entry;
+                removed[0] = entry;
+                return null;
+            });
+            Pending entry = removed[0];
+            if (entry == null) continue;
+            try {
+                solutionService.saveAutosave(solutionId, entry.userId(), entry.patch());
+            } catch (BusinessException | NonTransientDataAccessException ex) {
+                // 方案已删除、已提交审核或内容违反约束，重试也不会成功
+                logger.warn("丢弃解决方案[{}]的自动保存: {}", solutionId, ex.getMessage());
+            } catch (Exception ex) {
+                logger.warn("写入解决方案[{}]的自动保存失败，稍后重试", solutionId, ex);
+                restore(solutionId, entry);
+            } finally {
+                writing.remove(solutionId, done);
+                done.complete(null);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
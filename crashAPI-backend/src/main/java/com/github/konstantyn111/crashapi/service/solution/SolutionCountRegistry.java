@@ -0,0 +1,278 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionCount;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.solution.SolutionUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 解决方案计数登记表
+ * <p>
+ * 在内存中维护按状态、创建者、分类与难度统计的解决方案数量，列表接口与分面统计直接读取，
+ * 不再每次执行COUNT(*)。创建、删除与状态流转在事务提交后增量更新计数，
+ * 并定期与数据库分组统计结果对账，修正并发或回滚造成的偏差。
+ * </p>
+ * <p>
+ * 首次读取时从数据库加载，加载前发生的变更直接忽略。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SolutionCountRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionCountRegistry.class);
+
+    /**
+     * 计数维度键
+     *
+     * @param createdBy 创建者ID
+     * @param categoryId 分类ID
+     * @param difficulty 难度
+     * @param status 状态
+     */
+    public record Key(Long createdBy, String categoryId, String difficulty, String status) {
+        public static Key of(Solution solution) {
+            return new Key(solution.getCreatedBy(), solution.getCategoryId(),
+                    solution.getDifficulty(), solution.getStatus());
+        }
+    }
+
+    /**
+     * 限定范围内的状态键，status为null表示该范围内全部状态
+     */
+    private record ScopedKey(Object scope, String status) {
+    }
+
+    /**
+     * 分面键：分类 × 难度 × 状态
+     */
+    private record FacetKey(String categoryId, String difficulty, String status) {
+    }
+
+    private static final class Counts {
+        final ConcurrentHashMap<String, AtomicLong> byStatus = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<ScopedKey, AtomicLong> byCreator = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<ScopedKey, AtomicLong> byCategory = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<FacetKey, AtomicLong> byFacet = new ConcurrentHashMap<>();
+
+        void apply(Key key, long delta) {
+            add(byStatus, key.status(), delta);
+            add(byCreator, new ScopedKey(key.createdBy(), key.status()), delta);
+            add(byCreator, new ScopedKey(key.createdBy(), null), delta);
+            add(byCategory, new ScopedKey(key.categoryId(), key.status()), delta);
+            add(byCategory, new ScopedKey(key.categoryId(), null), delta);
+            add(byFacet, new FacetKey(key.categoryId(), key.difficulty(), key.status()), delta);
+        }
+
+        private static <K> void add(ConcurrentHashMap<K, AtomicLong> map, K key, long delta) {
+            if (key == null) return;
+            map.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        private static <K> long get(ConcurrentHashMap<K, AtomicLong> map, K key) {
+            AtomicLong count = map.get(key);
+            return count != null ? Math.max(count.get(), 0) : 0;
+        }
+    }
+
+    private final SolutionMapper solutionMapper;
+
+    private volatile Counts counts;
+
+    // ==================== 读取 ====================
+
+    /**
+     * 已发布的解决方案数量
+     */
+    public long countPublished() {
+        return countByStatus(SolutionUtils.PUBLISHED);
+    }
+
+    /**
+     * 指定状态的解决方案数量
+     */
+    public long countByStatus(String status) {
+        return Counts.get(counts().byStatus, status);
+    }
+
+    /**
+     * 指定创建者的解决方案数量
+     *
+     * @param creatorId 创建者ID
+     * @param status 状态，为null时统计全部状态
+     */
+    public long countByCreator(Long creatorId, String status) {
+        return Counts.get(counts().byCreator, new ScopedKey(creatorId, status));
+    }
+
+    /**
+     * 指定分类的解决方案数量
+     *
+     * @param categoryId 分类ID
+     * @param status 状态，为null时统计全部状态
+     */
+    public long countByCategory(String categoryId, String status) {
+        return Counts.get(counts().byCategory, new ScopedKey(categoryId, status));
+    }
+
+    /**
+     * 指定分类与难度的解决方案数量
+     *
+     * @param categoryId 分类ID，为null时不限分类
+     * @param difficulty 难度，为null时不限难度
+     * @param status 状态
+     */
+    public long countByFacet(String categoryId, String difficulty, String status) {
+        long total = 0;
+        for (Map.Entry<FacetKey, AtomicLong> entry : counts().byFacet.entrySet()) {
+            FacetKey key = entry.getKey();
+            if (matches(key, categoryId, difficulty, status)) {
+                total += Math.max(entry.getValue().get(), 0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 按分类统计数量，用于分面侧栏
+     * <p>
+     * 分面键只有“分类数 × 难度数 × 状态数”个，直接遍历即可。
+     * </p>
+     *
+     * @param difficulty 已选的难度，为null时不限难度
+     * @param status 状态
+     * @return 分类ID到数量，不含数量为0的分类
+     */
+    public Map<String, Long> countCategoriesByFacet(String difficulty, String status) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<FacetKey, AtomicLong> entry : counts().byFacet.entrySet()) {
+            FacetKey key = entry.getKey();
+            long count = entry.getValue().get();
+            if (count > 0 && key.categoryId() != null && matches(key, null, difficulty, status)) {
+                result.merge(key.categoryId(), count, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 按难度统计数量，用于分面侧栏
+     *
+     * @param categoryId 已选的分类，为null时不限分类
+     * @param status 状态
+     * @return 难度到数量，不含数量为0的难度
+     */
+    public Map<String, Long> countDifficultiesByFacet(String categoryId, String status) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<FacetKey, AtomicLong> entry : counts().byFacet.entrySet()) {
+            FacetKey key = entry.getKey();
+            long count = entry.getValue().get();
+            if (count > 0 && key.difficulty() != null && matches(key, categoryId, null, status)) {
+                result.merge(key.difficulty(), count, Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private static boolean matches(FacetKey key, String categoryId, String difficulty, String status) {
+        return Objects.equals(key.status(), status)
+                && (categoryId == null || categoryId.equals(key.categoryId()))
+                && (difficulty == null || difficulty.equals(key.difficulty()));
+    }
+
+    // ==================== 增量更新 ====================
+
+    /**
+     * 记录新建的解决方案
+     */
+    public void recordCreated(Solution solution) {
+        Key key = Key.of(solution);
+        TransactionUtils.afterCommit(() -> applyDelta(key, 1));
+    }
+
+    /**
+     * 记录删除的解决方案
+     */
+    public void recordDeleted(Solution solution) {
+        Key key = Key.of(solution);
+        TransactionUtils.afterCommit(() -> applyDelta(key, -1));
+    }
+
+    /**
+     * 记录解决方案状态、分类或难度的变更
+     *
+     * @param before 变更前的计数键
+     * @param solution 变更后的解决方案
+     */
+    public void recordChanged(Key before, Solution solution) {
+        Key after = Key.of(solution);
+        if (Objects.equals(before, after)) return;
+        TransactionUtils.afterCommit(() -> {
+            applyDelta(before, -1);
+            applyDelta(after, 1);
+        });
+    }
+
+    // ==================== 对账 ====================
+
+    /**
+     * 定期与数据库对账，以数据库分组统计结果替换内存计数
+     */
+    @Scheduled(initialDelayString = "${solution.counts.reconcile-interval:600000}",
+            fixedDelayString = "${solution.counts.reconcile-interval:600000}")
+    public void scheduledReconcile() {
+        if (counts == null) return;
+        try {
+            reconcile();
+        } catch (Exception ex) {
+            logger.warn("解决方案计数对账失败", ex);
+        }
+    }
+
+    /**
+     * 从数据库重新加载全部计数
+     */
+    public synchronized void reconcile() {
+        List<SolutionCount> rows = solutionMapper.countGroupByCreatorCategoryStatus();
+        Counts fresh = new Counts();
+        for (SolutionCount row : rows) {
+            fresh.apply(new Key(row.getCreatedBy(), row.getCategoryId(), row.getDifficulty(), row.getStatus()),
+                    row.getTotal());
+        }
+        counts = fresh;
+        logger.debug("解决方案计数已对账，共{}个分组", rows.size());
+    }
+
+    private Counts counts() {
+        Counts current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reconcile();
+                }
+                current = counts;
+            }
+        }
+        return current;
+    }
+
+    private void applyDelta(Key key, long delta) {
+        Counts current = counts;
+        if (current != null) {
+            current.apply(key, delta);
+        }
+    }
+}
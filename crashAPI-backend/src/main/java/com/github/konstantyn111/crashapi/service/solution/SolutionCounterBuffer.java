@@ -0,0 +1,209 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionCountersDTO;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionCounter;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionCounterMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 解决方案浏览与“对我有帮助”计数器
+ * <p>
+ * 请求只在内存中按方案累加分段计数（{@link LongAdder}），不写数据库，也不与其他请求争用同一行；
+ * 定时把累积的增量用批量upsert累加到{@code solution_counters}。写入失败时增量放回内存，下次合并重试。
+ * </p>
+ * <p>
+ * 正常停机时先写库，写库失败则把剩余增量落到本地溢出文件，下次启动时读回；
+ * 进程被强制终止时最多丢失一个刷新周期的增量。
+ * 只有详情接口能查到的方案会被计数，条目数量以此为上限；条目在方案删除后才移除，
+ * 刷新只清零不移除，不会有请求把增量加到已被刷新线程移走的条目上。
+ * </p>
+ */
+@Component
+public class SolutionCounterBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionCounterBuffer.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final class Delta {
+        final LongAdder views = new LongAdder();
+        final LongAdder helpful = new LongAdder();
+    }
+
+    private final SolutionCounterMapper solutionCounterMapper;
+    private final Path spillFile;
+
+    private final ConcurrentHashMap<String, Delta> pending = new ConcurrentHashMap<>();
+
+    public SolutionCounterBuffer(SolutionCounterMapper solutionCounterMapper,
+                                 @Value("${solution.counters.spill-file:}") String spillFile) {
+        this.solutionCounterMapper = solutionCounterMapper;
+        this.spillFile = spillFile.isBlank() ? null : Path.of(spillFile);
+    }
+
+    public void recordView(String solutionId) {
+        delta(solutionId).views.increment();
+    }
+
+    public void recordHelpful(String solutionId) {
+        delta(solutionId).helpful.increment();
+    }
+
+    /**
+     * 在事务提交后移除已删除方案的条目，其未写入的增量随之丢弃
+     */
+    public void forget(String solutionId) {
+        TransactionUtils.afterCommit(() -> pending.remove(solutionId));
+    }
+
+    /**
+     * 已写入数据库的计数加上尚未写入的增量
+     */
+    public SolutionCountersDTO get(String solutionId) {
+        SolutionCounter stored = solutionCounterMapper.findBySolutionId(solutionId).orElse(null);
+        long views = stored != null ? stored.getViews() : 0;
+        long helpful = stored != null ? stored.getHelpful() : 0;
+        Delta delta = pending.get(solutionId);
+        if (delta != null) {
+            views += delta.views.sum();
+            helpful += delta.helpful.sum();
+        }
+        return SolutionCountersDTO.builder()
+                .solutionId(solutionId)
+                .views(views)
+                .helpful(helpful)
+                .build();
+    }
+
+    /**
+     * 把累积的增量写入数据库
+     */
+    @Scheduled(fixedDelayString = "${solution.counters.flush-interval:5000}")
+    public synchronized void flush() {
+        List<SolutionCounter> batch = drain();
+        for (int from = 0; from < batch.size(); from += BATCH_SIZE) {
+            List<SolutionCounter> chunk = batch.subList(from, Math.min(from + BATCH_SIZE, batch.size()));
+            try {
+                solutionCounterMapper.batchIncrement(chunk);
+            } catch (Exception ex) {
+                logger.warn("写入{}个解决方案计数失败，稍后重试", chunk.size(), ex);
+                chunk.forEach(this::restore);
+            }
+        }
+    }
+
+    /**
+     * 读回上次停机时未能写库的增量
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recoverSpilled() {
+        if (spillFile == null || !Files.exists(spillFile)) return;
+        try {
+            List<SolutionCounter> spilled = readSpillFile();
+            spilled.forEach(this::restore);
+            Files.delete(spillFile);
+            logger.info("已从{}读回{}个解决方案的计数增量", spillFile, spilled.size());
+        } catch (IOException | UncheckedIOException ex) {
+            logger.warn("读取解决方案计数溢出文件{}失败", spillFile, ex);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        flush();
+        List<SolutionCounter> remaining = drain();
+        if (remaining.isEmpty()) return;
+        if (spillFile == null) {
+            logger.warn("停机时{}个解决方案的计数增量未能写入数据库，已丢弃", remaining.size());
+            return;
+        }
+        try {
+            writeSpillFile(remaining);
+            logger.warn("停机时{}个解决方案的计数增量未能写入数据库，已保存到{}", remaining.size(), spillFile);
+        } catch (IOException ex) {
+            logger.error("保存解决方案计数增量到{}失败，已丢弃", spillFile, ex);
+        }
+    }
+
+    private Delta delta(String solutionId) {
+        Delta delta = pending.get(solutionId);
+        return delta != null ? delta : pending.computeIfAbsent(solutionId, key -> new Delta());
+    }
+
+    /**
+     * 取走全部增量并清零
+     */
+    private List<SolutionCounter> drain() {
+        List<SolutionCounter> batch = new ArrayList<>();
+        pending.forEach((solutionId, delta) -> {
+            long views = delta.views.sumThenReset();
+            long helpful = delta.helpful.sumThenReset();
+            if (views != 0 || helpful != 0) {
+                batch.add(new SolutionCounter(solutionId, views, helpful));
+            }
+        });
+        return batch;
+    }
+
+    private void restore(SolutionCounter failed) {
+        Delta delta = delta(failed.getSolutionId());
+        delta.views.add(failed.getViews());
+        delta.helpful.add(failed.getHelpful());
+    }
+
+    private List<SolutionCounter> readSpillFile() throws IOException {
+        List<SolutionCounter> counters = new ArrayList<>();
+        try (var lines = Files.lines(spillFile, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                String[] fields = line.split("\t");
+                try {
+                    if (fields.length == 3) {
+                        counters.add(new SolutionCounter(fields[0],
+                                Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+                        return;
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+                logger.warn("忽略无法解析的计数行: {}", line);
+            });
+        }
+        return counters;
+    }
+
+    /**
+     * 与已有的溢出文件合并后原子替换，避免写到一半停机留下残缺文件
+     */
+    private void writeSpillFile(List<SolutionCounter> counters) throws IOException {
+        List<SolutionCounter> merged = new ArrayList<>(counters);
+        if (Files.exists(spillFile)) {
+            merged.addAll(readSpillFile());
+        }
+        List<String> lines = merged.stream()
+                .map(counter -> counter.getSolutionId() + "\t" + counter.getViews() + "\t" + counter.getHelpful())
+                .toList();
+        Path parent = spillFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, spillFile.getFileName().toString(), ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, spillFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,285 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.crash.CrashAnalysisDTO;
+import com.github.konstantyn111.crashapi.dto.crash.CrashClusterDTO;
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionMatchDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionSignatureDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionSignature;
+import com.github.konstantyn111.crashapi.entity.user.User;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.mapper.solution.CrashClusterMapper;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionSignatureMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.SecurityValidationUtils;
+import com.github.konstantyn111.crashapi.util.cache.BoundedCache;
+import com.github.konstantyn111.crashapi.util.crash.CrashReportParser;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import com.github.konstantyn111.crashapi.util.solution.SolutionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 崩溃日志分析服务
+ * <p>
+ * 崩溃日志匹配与解析、崩溃聚类统计，以及解决方案崩溃特征的维护。
+ * 匹配只读{@link CrashSignatureMatcher}的内存自动机，特征变更后在事务提交时重建。
+ * </p>
+ * <p>
+ * 匹配接口允许匿名调用，计入热门排行的匹配事件按崩溃指纹（无指纹时按登录用户）在去重窗口内只计一次，
+ * 匿名且无法提取指纹的匹配不计入排行，避免反复提交同一日志刷高排名。
+ * </p>
+ */
+@Service
+public class SolutionCrashService {
+
+    private static final int MAX_SIGNATURES_PER_SOLUTION = 50;
+    private static final Set<String> SIGNATURE_TYPES = Set.of(
+            CrashSignatureMatcher.TYPE_EXCEPTION, CrashSignatureMatcher.TYPE_MOD, CrashSignatureMatcher.TYPE_MESSAGE);
+
+    private final SolutionMapper solutionMapper;
+    private final SolutionSignatureMapper solutionSignatureMapper;
+    private final CrashSignatureMatcher crashSignatureMatcher;
+    private final CrashClusterMapper crashClusterMapper;
+    private final CrashClusterRecorder crashClusterRecorder;
+    private final SolutionTrendingIndex solutionTrending;
+    private final CurrentUser currentUser;
+    private final long maxLogChars;
+
+    /**
+     * 去重窗口内已计入排行的匹配，键为“指纹或用户:方案ID”
+     */
+    private final BoundedCache<String, Boolean> matchEvents;
+
+    public SolutionCrashService(SolutionMapper solutionMapper,
+                                SolutionSignatureMapper solutionSignatureMapper,
+                                CrashSignatureMatcher crashSignatureMatcher,
+                                CrashClusterMapper crashClusterMapper,
+                                CrashClusterRecorder crashClusterRecorder,
+                                SolutionTrendingIndex solutionTrending,
+                                CurrentUser currentUser,
+                                @Value("${solution.match.max-log-chars:16777216}") long maxLogChars,
+                                @Value("${solution.trending.match-dedup-window:3600000}") long matchDedupWindow,
+                                @Value("${solution.trending.match-dedup-max-size:100000}") int matchDedupMaxSize) {
+        this.solutionMapper = solutionMapper;
+        this.solutionSignatureMapper = solutionSignatureMapper;
+        this.crashSignatureMatcher = crashSignatureMatcher;
+        this.crashClusterMapper = crashClusterMapper;
+        this.crashClusterRecorder = crashClusterRecorder;
+        this.solutionTrending = solutionTrending;
+        this.currentUser = currentUser;
+        this.maxLogChars = maxLogChars;
+        this.matchEvents = new BoundedCache<>(matchDedupMaxSize, matchDedupWindow);
+    }
+
+    // ==================== 公共接口 ====================
+
+    /**
+     * 根据崩溃日志匹配已发布的解决方案
+     *
+     * @param log 崩溃日志内容
+     * @param limit 最多返回的解决方案数
+     * @return 包含按得分排序的匹配结果的响应
+     */
+    public RestResponse<List<SolutionMatchDTO>> matchCrashLog(Reader log, int limit) {
+        try {
+            List<SolutionMatchDTO> matches = crashSignatureMatcher.match(log, Math.min(Math.max(limit, 1), 50));
+            recordTopMatch(null, matches);
+            return RestResponse.success(matches, "崩溃日志匹配完成");
+        } catch (IOException ex) {
+            return RestResponse.fail(HttpStatus.BAD_REQUEST.value(),
+                    ErrorCode.INVALID_PARAMETER, "读取崩溃日志失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 解析崩溃日志并匹配解决方案
+     * <p>
+     * 解析与特征扫描共用一次流式读取：解析器每读入一块，同一块同时送入匹配会话，
+     * 日志原文既不整体缓存也不重复读取。
+     * </p>
+     *
+     * @param log 崩溃日志内容
+     * @param limit 最多返回的解决方案数
+     * @return 包含结构化崩溃报告与匹配结果的响应
+     */
+    public RestResponse<CrashAnalysisDTO> analyzeCrashLog(Reader log, int limit) {
+        try {
+            CrashSignatureMatcher.Session session = crashSignatureMatcher.newSession();
+            Reader scanned = new FilterReader(log) {
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        session.feed(buffer, offset, read);
+                    }
+                    return read;
+                }
+            };
+            CrashReportDTO report = new CrashReportParser(maxLogChars).parse(scanned);
+            List<SolutionMatchDTO> matches = session.results(Math.min(Math.max(limit, 1), 50));
+            crashClusterRecorder.record(report, matches);
+            recordTopMatch(report.getFingerprint(), matches);
+            CrashAnalysisDTO analysis = CrashAnalysisDTO.builder()
+                    .report(report)
+                    .matches(matches)
+                    .build();
+            return RestResponse.success(analysis, "崩溃日志分析完成");
+        } catch (IOException ex) {
+            return RestResponse.fail(HttpStatus.BAD_REQUEST.value(),
+                    ErrorCode.INVALID_PARAMETER, "读取崩溃日志失败: " + ex.getMessage());
+        }
+    }
+
+    // ==================== 管理员接口 ====================
+
+    /**
+     * 获取解决方案的崩溃特征
+     *
+     * @param solutionId 解决方案ID
+     * @return 包含特征列表的响应结果
+     */
+    @Transactional(readOnly = true)
+    public RestResponse<List<SolutionSignatureDTO>> getSignatures(String solutionId) {
+        try {
+            currentUser.requireAdmin();
+            SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+            List<SolutionSignatureDTO> dtos = solutionSignatureMapper.findBySolutionId(solutionId).stream()
+                    .map(sig -> SolutionSignatureDTO.builder()
+                            .patternType(sig.getPatternType())
+                            .pattern(sig.getPattern())
+                            .weight(sig.getWeight())
+                            .build())
+                    .toList();
+            return RestResponse.success(dtos, "获取崩溃特征成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取崩溃特征失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 整体替换解决方案的崩溃特征
+     *
+     * @param solutionId 解决方案ID
+     * @param signatures 新的特征列表
+     * @return 操作结果响应
+     */
+    @Transactional
+    public RestResponse<Void> replaceSignatures(String solutionId, List<SolutionSignatureDTO> signatures) {
+        try {
+            User admin = currentUser.requireAdmin();
+            Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+            SecurityValidationUtils.validateSolutionOwnership(solution, admin, "修改");
+            List<SolutionSignature> entities = validateSignatures(solutionId, signatures);
+
+            solutionSignatureMapper.deleteBySolutionId(solutionId);
+            if (!entities.isEmpty()) {
+                solutionSignatureMapper.batchInsert(entities);
+            }
+            if (SolutionUtils.PUBLISHED.equals(solution.getStatus())) {
+                crashSignatureMatcher.refresh();
+            }
+            return RestResponse.success("崩溃特征已更新");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "更新崩溃特征失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 获取出现次数最多的崩溃聚类
+     * <p>
+     * 查询前先写入内存中累积的计数，结果包含刚刚上报的崩溃。
+     * </p>
+     *
+     * @param limit 返回的聚类数
+     * @return 按出现次数降序排列的聚类及关联的解决方案
+     */
+    public RestResponse<List<CrashClusterDTO>> getTopCrashClusters(int limit) {
+        try {
+            crashClusterRecorder.flush();
+            List<CrashClusterDTO> clusters = crashClusterMapper.findTopClusters(Math.min(Math.max(limit, 1), 100))
+                    .stream()
+                    .map(SolutionMapperUtil::toCrashClusterDTO)
+                    .toList();
+            return RestResponse.success(clusters, "获取崩溃聚类成功");
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取崩溃聚类失败: " + ex.getMessage());
+        }
+    }
+
+    // ==================== 内部实现 ====================
+
+    /**
+     * 得分最高的匹配方案计入热门排行，同一崩溃（或同一用户）在去重窗口内只计一次
+     *
+     * @param fingerprint 崩溃指纹，未解析或无法提取时为null
+     */
+    private void recordTopMatch(String fingerprint, List<SolutionMatchDTO> matches) {
+        if (matches.isEmpty()) return;
+        String source = fingerprint;
+        if (source == null) {
+            if (!currentUser.isAuthenticated()) return;
+            source = "user" + currentUser.id();
+        }
+        String solutionId = matches.get(0).getSolutionId();
+        if (matchEvents.putIfAbsent(source + ":" + solutionId, Boolean.TRUE)) {
+            solutionTrending.recordMatch(solutionId);
+        }
+    }
+
+    private List<SolutionSignature> validateSignatures(String solutionId, List<SolutionSignatureDTO> signatures) {
+        if (signatures == null) {
+            return Collections.emptyList();
+        }
+        if (signatures.size() > MAX_SIGNATURES_PER_SOLUTION) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                    HttpStatus.BAD_REQUEST, "每个解决方案最多" + MAX_SIGNATURES_PER_SOLUTION + "个崩溃特征");
+        }
+        List<SolutionSignature> entities = new ArrayList<>();
+        for (SolutionSignatureDTO dto : signatures) {
+            String type = dto.getPatternType();
+            String pattern = dto.getPattern() != null ? dto.getPattern().trim() : "";
+            if (type == null || !SIGNATURE_TYPES.contains(type)) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        HttpStatus.BAD_REQUEST, "无效的特征类型: " + type);
+            }
+            if (pattern.length() < 3 || pattern.length() > 255) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        HttpStatus.BAD_REQUEST, "特征文本长度必须在3到255之间");
+            }
+            Integer weight = dto.getWeight();
+            if (weight != null && (weight < 1 || weight > 100)) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        HttpStatus.BAD_REQUEST, "特征权重必须在1到100之间");
+            }
+            entities.add(SolutionSignature.builder()
+                    .solutionId(solutionId)
+                    .patternType(type)
+                    .pattern(pattern)
+                    .weight(weight != null ? weight : CrashSignatureMatcher.defaultWeight(type))
+                    .build());
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionImage;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionStep;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionImageMapper;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionStepMapper;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 解决方案DTO批量转换器
+ * <p>
+ * 一批解决方案的步骤与图片各用一条IN查询加载，再按方案ID分组组装，
+ * 查询次数与列表长度无关；查询未关联分类时，分类名称取自{@link CategoryRegistry}的内存快照。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SolutionDtoConverter {
+
+    private final SolutionStepMapper solutionStepMapper;
+    private final SolutionImageMapper solutionImageMapper;
+    private final CategoryRegistry categoryRegistry;
+
+    /**
+     * 转换为包含步骤与图片的完整DTO
+     *
+     * @param solutions 解决方案列表
+     * @return 与输入顺序一致的DTO列表
+     */
+    public List<SolutionDTO> toDetailedDTOs(List<Solution> solutions) {
+        if (solutions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> solutionIds = solutions.stream().map(Solution::getId).toList();
+
+        Map<String, List<String>> stepsMap = solutionStepMapper.findStepsBySolutionIds(solutionIds)
+                .stream()
+                .collect(Collectors.groupingBy(SolutionStep::getSolutionId,
+                        Collectors.mapping(SolutionStep::getContent, Collectors.toList())));
+
+        Map<String, List<String>> imagesMap = solutionImageMapper.findImagesBySolutionIds(solutionIds)
+                .stream()
+                .collect(Collectors.groupingBy(SolutionImage::getSolutionId,
+                        Collectors.mapping(SolutionImage::getImageUrl, Collectors.toList())));
+
+        return solutions.stream()
+                .map(sol -> toDTO(
+                        sol,
+                        stepsMap.getOrDefault(sol.getId(), Collections.emptyList()),
+                        imagesMap.getOrDefault(sol.getId(), Collections.emptyList())))
+                .toList();
+    }
+
+    /**
+     * 将已随查询加载步骤与图片（嵌套结果映射）的解决方案转换为完整DTO
+     * <p>
+     * 没有步骤或图片时嵌套集合为null，按空列表处理，不再查询。
+     * </p>
+     */
+    public SolutionDTO toDetailedDTO(Solution solution) {
+        List<String> steps = solution.getSteps() != null
+                ? solution.getSteps().stream().map(SolutionStep::getContent).toList()
+                : Collections.emptyList();
+        List<String> images = solution.getImages() != null
+                ? solution.getImages().stream().map(SolutionImage::getImageUrl).toList()
+                : Collections.emptyList();
+        return toDTO(solution, steps, images);
+    }
+
+    /**
+     * 转换为不含步骤与图片的DTO
+     */
+    public List<SolutionDTO> toSummaryDTOs(List<Solution> solutions) {
+        return solutions.stream()
+                .map(sol -> toDTO(sol, null, null))
+                .toList();
+    }
+
+    /**
+     * 以给定的步骤与图片转换，并补全分类名称
+     */
+    public SolutionDTO toDTO(Solution solution, List<String> steps, List<String> images) {
+        SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution, steps, images);
+        if (dto != null && dto.getCategoryName() == null && dto.getCategoryId() != null) {
+            dto.setCategoryName(categoryRegistry.nameOf(dto.getCategoryId()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,183 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionCountersDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionSummaryDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionTrendingDTO;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.cache.BoundedCache;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 解决方案互动服务
+ * <p>
+ * 浏览与“对我有帮助”计数、热门排行。计数由{@link SolutionCounterBuffer}在内存中累加后定时写库，
+ * 排行来自{@link SolutionTrendingIndex}。
+ * </p>
+ * <p>
+ * 同一用户对同一方案的“对我有帮助”在去重窗口内只计一次，去重记录保存在容量有限的内存缓存中。
+ * </p>
+ */
+@Service
+public class SolutionEngagementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionEngagementService.class);
+
+    private final SolutionService solutionService;
+    private final SolutionMapper solutionMapper;
+    private final SolutionVersionIndex solutionVersionIndex;
+    private final SolutionCounterBuffer solutionCounters;
+    private final SolutionTrendingIndex solutionTrending;
+    private final CurrentUser currentUser;
+
+    /**
+     * 去重窗口内已计数的“对我有帮助”，键为“用户ID:方案ID”
+     */
+    private final BoundedCache<String, Boolean> helpfulVotes;
+
+    public SolutionEngagementService(SolutionService solutionService,
+                                     SolutionMapper solutionMapper,
+                                     SolutionVersionIndex solutionVersionIndex,
+                                     SolutionCounterBuffer solutionCounters,
+                                     SolutionTrendingIndex solutionTrending,
+                                     CurrentUser currentUser,
+                                     @Value("${solution.helpful.dedup-window:86400000}") long helpfulDedupWindow,
+                                     @Value("${solution.helpful.dedup-max-size:100000}") int helpfulDedupMaxSize) {
+        this.solutionService = solutionService;
+        this.solutionMapper = solutionMapper;
+        this.solutionVersionIndex = solutionVersionIndex;
+        this.solutionCounters = solutionCounters;
+        this.solutionTrending = solutionTrending;
+        this.currentUser = currentUser;
+        this.helpfulVotes = new BoundedCache<>(helpfulDedupMaxSize, helpfulDedupWindow);
+    }
+
+    /**
+     * 获取热门解决方案
+     * <p>
+     * 按随时间衰减的浏览、“对我有帮助”与崩溃匹配得分排序，排行来自内存；
+     * 有得分的方案不足时以最近更新的已发布方案补足，得分为0。
+     * </p>
+     *
+     * @param categoryId 分类ID，为空或“all”表示不限
+     * @param limit 数量
+     * @return 包含热门方案摘要与得分的响应结果
+     */
+    @Transactional(readOnly = true)
+    public RestResponse<List<SolutionTrendingDTO>> getTrendingSolutions(String categoryId, int limit) {
+        try {
+            String category = categoryId == null || categoryId.isBlank()
+                    || SolutionService.ALL_CATEGORY.equals(categoryId) ? null : categoryId;
+            int size = Math.min(Math.max(limit, 1), solutionTrending.capacity());
+
+            Map<String, Double> ranked = new LinkedHashMap<>();
+            solutionTrending.top(category, size)
+                    .forEach(entry -> ranked.put(entry.solutionId(), entry.score()));
+            if (ranked.size() < size) {
+                for (String solutionId : solutionVersionIndex.find(null, category)) {
+                    if (ranked.size() >= size) break;
+                    ranked.putIfAbsent(solutionId, 0.0);
+                }
+            }
+            if (ranked.isEmpty()) {
+                return RestResponse.success(Collections.emptyList(), "获取热门解决方案成功");
+            }
+
+            Map<String, SolutionSummaryDTO> summaries = solutionMapper
+                    .findPublishedSolutionsByIds(new ArrayList<>(ranked.keySet()))
+                    .stream()
+                    .map(SolutionMapperUtil::toSolutionSummaryDTO)
+                    .collect(Collectors.toMap(SolutionSummaryDTO::getId, Function.identity()));
+            List<SolutionTrendingDTO> hits = ranked.entrySet().stream()
+                    .filter(entry -> summaries.containsKey(entry.getKey()))
+                    .map(entry -> SolutionTrendingDTO.builder()
+                            .solution(summaries.get(entry.getKey()))
+                            .score(entry.getValue())
+                            .build())
+                    .toList();
+            return RestResponse.success(hits, "获取热门解决方案成功");
+        } catch (Exception ex) {
+            logger.error("获取热门解决方案失败", ex);
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取热门解决方案失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 记录一次详情浏览
+     * <p>
+     * 由详情接口在判断条件请求之前调用，命中304的重复访问同样计数；
+     * 不存在或未发布的方案不计数，错误留给详情查询本身报告。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     */
+    public void recordView(String solutionId) {
+        try {
+            solutionService.requireViewable(solutionId);
+            solutionCounters.recordView(solutionId);
+            solutionTrending.recordView(solutionId);
+        } catch (Exception ex) {
+            logger.debug("未记录解决方案[{}]的浏览: {}", solutionId, ex.getMessage());
+        }
+    }
+
+    /**
+     * 获取解决方案的浏览与“对我有帮助”计数
+     *
+     * @param solutionId 解决方案ID
+     * @return 包含计数的响应结果
+     */
+    public RestResponse<SolutionCountersDTO> getSolutionCounters(String solutionId) {
+        try {
+            solutionService.requireViewable(solutionId);
+            return RestResponse.success(solutionCounters.get(solutionId), "获取解决方案计数成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取解决方案计数失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 标记解决方案“对我有帮助”
+     * <p>
+     * 只累加内存计数，由{@link SolutionCounterBuffer}定时写库。
+     * 同一用户在去重窗口内重复标记同一方案时不再计数，直接返回当前计数。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @return 包含最新计数的响应结果
+     */
+    public RestResponse<SolutionCountersDTO> markSolutionHelpful(String solutionId) {
+        try {
+            Long userId = currentUser.id();
+            solutionService.requireViewable(solutionId);
+            if (!helpfulVotes.putIfAbsent(userId + ":" + solutionId, Boolean.TRUE)) {
+                return RestResponse.success(solutionCounters.get(solutionId), "已反馈过");
+            }
+            solutionCounters.recordHelpful(solutionId);
+            solutionTrending.recordHelpful(solutionId);
+            return RestResponse.success(solutionCounters.get(solutionId), "感谢反馈");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "提交反馈失败: " + ex.getMessage());
+        }
+    }
+}
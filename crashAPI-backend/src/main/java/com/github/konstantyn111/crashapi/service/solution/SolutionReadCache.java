@@ -0,0 +1,253 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionPageDto;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.cache.BoundedCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 已发布解决方案读缓存
+ * <p>
+ * 缓存公共接口的分页列表与详情文档，容量与存活时间均有上限。
+ * 解决方案变更在事务提交后精确失效：详情按ID移除；
+ * 只有已发布集合发生变化时才清空分页缓存。
+ * </p>
+ * <p>
+ * 每次失效递增代数，加载开始后发生过失效的结果不会写入缓存，
+ * 避免并发读取把旧数据重新放回。命中、未命中与淘汰次数通过Micrometer暴露。
+ * </p>
+ * <p>
+ * 防击穿：同一键、同一代数的并发未命中合并为一次数据库加载，其余请求等待并共享结果。
+ * 条目超过存活时间后在过期宽限期内仍可返回旧值，同时在后台刷新（stale-while-revalidate）；
+ * 主动失效的条目直接移除，不会以旧值返回。
+ * </p>
+ */
+@Component
+public class SolutionReadCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionReadCache.class);
+
+    /**
+     * 缓存值及其加载时间
+     */
+    private record Stamped<V>(V value, long loadedAt) {
+    }
+
+    private final BoundedCache<String, Stamped<SolutionPageDto<?>>> pages;
+    private final BoundedCache<String, Stamped<SolutionDTO>> details;
+    private final long ttlMillis;
+    private final long staleWhileRevalidateMillis;
+    private final AtomicLong generation = new AtomicLong();
+    private final SolutionVersionStamps versionStamps;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+
+    public SolutionReadCache(MeterRegistry meterRegistry,
+                             SolutionVersionStamps versionStamps,
+                             @Value("${solution.read-cache.page-max-size:200}") int pageMaxSize,
+                             @Value("${solution.read-cache.detail-max-size:2000}") int detailMaxSize,
+                             @Value("${solution.read-cache.ttl:60000}") long ttlMillis,
+                             @Value("${solution.read-cache.stale-while-revalidate:30000}") long staleWhileRevalidateMillis,
+                             @Value("${solution.read-cache.refresh-threads:2}") int refreshThreads) {
+        this.versionStamps = versionStamps;
+        this.ttlMillis = ttlMillis;
+        this.staleWhileRevalidateMillis = Math.max(staleWhileRevalidateMillis, 0);
+        long retention = ttlMillis > 0 ? ttlMillis + this.staleWhileRevalidateMillis : ttlMillis;
+        this.pages = new BoundedCache<>(pageMaxSize, retention);
+        this.details = new BoundedCache<>(detailMaxSize, retention);
+
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "solution-cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        bindMetrics(meterRegistry, "page", pages);
+        bindMetrics(meterRegistry, "detail", details);
+        FunctionCounter.builder("solution.read.cache.coalesced", coalesced, LongAdder::sum)
+                .register(meterRegistry);
+        FunctionCounter.builder("solution.read.cache.stale.served", staleServed, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取已发布解决方案分页，未命中时加载并缓存
+     *
+     * @param pageable 分页参数
+     * @param withTotal 是否统计总数
+     * @param variant 列表视图（full/summary）及筛选条件
+     * @param loader 数据加载方式
+     */
+    @SuppressWarnings("unchecked")
+    public <T> SolutionPageDto<T> getPage(Pageable pageable, boolean withTotal, String variant,
+                                          Supplier<SolutionPageDto<T>> loader) {
+        String key = variant + ":" + pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + withTotal;
+        return (SolutionPageDto<T>) getOrLoad("page", pages, key, loader::get);
+    }
+
+    /**
+     * 获取解决方案详情，未命中时加载并缓存
+     *
+     * @param solutionId 解决方案ID
+     * @param loader 数据加载方式
+     */
+    public SolutionDTO getDetail(String solutionId, Supplier<SolutionDTO> loader) {
+        return getOrLoad("detail", details, solutionId, loader);
+    }
+
+    /**
+     * 在事务提交后使解决方案相关缓存失效
+     * <p>
+     * 先移除缓存再推进版本戳，保证携带新版本戳的响应不会取到旧缓存。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param publishedListChanged 已发布列表是否受影响（发布、撤回、修改已发布方案）
+     */
+    public void evict(String solutionId, boolean publishedListChanged) {
+        TransactionUtils.afterCommit(() -> {
+            generation.incrementAndGet();
+            details.invalidate(solutionId);
+            if (publishedListChanged) {
+                pages.clear();
+            }
+            versionStamps.touchSolution(solutionId, publishedListChanged);
+            logger.debug("解决方案[{}]读缓存已失效，分页缓存{}", solutionId, publishedListChanged ? "已清空" : "保留");
+        });
+    }
+
+    /**
+     * 在事务提交后清空全部缓存
+     * <p>
+     * 用于分类名称等被所有解决方案引用的数据发生变化时。
+     * </p>
+     */
+    public void evictAll() {
+        TransactionUtils.afterCommit(() -> {
+            generation.incrementAndGet();
+            details.clear();
+            pages.clear();
+            versionStamps.touchAll();
+            logger.debug("解决方案读缓存已全部清空");
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private <V> V getOrLoad(String name, BoundedCache<String, Stamped<V>> cache, String key, Supplier<V> loader) {
+        Stamped<V> cached = cache.get(key);
+        if (cached != null) {
+            if (ttlMillis <= 0 || System.currentTimeMillis() - cached.loadedAt() < ttlMillis) {
+                return cached.value();
+            }
+            staleServed.increment();
+            refreshInBackground(name, cache, key, loader);
+            return cached.value();
+        }
+        return loadShared(name, cache, key, loader);
+    }
+
+    /**
+     * 合并同一键的并发加载，只有首个请求访问数据库
+     * <p>
+     * 调用方不得在事务中调用缓存：事务只应包在加载过程内部，等待共享结果的请求才不会占用数据库连接。
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V loadShared(String name, BoundedCache<String, Stamped<V>> cache, String key, Supplier<V> loader) {
+        // 代数计入合并键：失效后到达的请求不会等待失效前开始的加载
+        long startGeneration = generation.get();
+        String flightKey = name + ":" + startGeneration + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (V) await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            if (generation.get() == startGeneration) {
+                cache.put(key, new Stamped<>(value, System.currentTimeMillis()));
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private <V> void refreshInBackground(String name, BoundedCache<String, Stamped<V>> cache, String key, Supplier<V> loader) {
+        String flightKey = name + ":" + key;
+        if (!refreshing.add(flightKey)) return;
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    loadShared(name, cache, key, loader);
+                } catch (Exception ex) {
+                    logger.warn("后台刷新解决方案缓存[{}]失败", flightKey, ex);
+                } finally {
+                    refreshing.remove(flightKey);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // 队列已满，本次不刷新，下次命中过期条目时再提交
+            refreshing.remove(flightKey);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static void bindMetrics(MeterRegistry registry, String name, BoundedCache<?, ?> cache) {
+        FunctionCounter.builder("solution.read.cache.requests", cache, BoundedCache::hitCount)
+                .tag("cache", name).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("solution.read.cache.requests", cache, BoundedCache::missCount)
+                .tag("cache", name).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("solution.read.cache.evictions", cache, BoundedCache::evictionCount)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("solution.read.cache.size", cache, BoundedCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,374 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionSearchHitDTO;
+import com.github.konstantyn111.crashapi.dto.solution.SolutionSummaryDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionStep;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.search.CjkTokenizer;
+import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
+import com.github.konstantyn111.crashapi.util.solution.SolutionUtils;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 解决方案全文搜索索引
+ * <p>
+ * 进程内倒排索引，覆盖标题、描述、备注与步骤内容，使用{@link CjkTokenizer}分词，
+ * 按BM25排序。标题词频加权，使标题命中排在正文命中之前。
+ * </p>
+ * <p>
+ * 应用启动后在后台从数据库全量构建；发布、修改已发布方案、撤回与删除在事务提交后
+ * 按ID增量重建对应文档。搜索只读内存，不访问数据库。
+ * </p>
+ * <p>
+ * 全量构建期间到达的增量更新（包括分类改名）先记录下来，新索引装入后再重放，
+ * 不会因构建读取的是旧数据而丢失。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SolutionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    /**
+     * 已索引的文档
+     *
+     * @param summary 返回给客户端的摘要
+     * @param termFrequencies 加权词频
+     * @param length 文档长度（加权词数）
+     */
+    private record IndexedDocument(SolutionSummaryDTO summary, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    private record ScoredDocument(String id, double score) {
+    }
+
+    private final SolutionMapper solutionMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IndexedDocument> documents = new HashMap<>();
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+    private volatile boolean built;
+
+    // 以下字段由写锁保护：全量构建期间到达的增量更新，装入新索引后重放
+    private boolean building;
+    private final Set<String> pendingRefreshes = new LinkedHashSet<>();
+    private final Map<String, String> pendingRenames = new LinkedHashMap<>();
+
+    /**
+     * 应用启动后在后台构建索引，失败时留待首次搜索重试
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                logger.warn("启动时构建解决方案搜索索引失败，将在首次搜索时重试", ex);
+            }
+        }, "solution-search-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 从数据库全量重建索引
+     * <p>
+     * 读取数据库期间不持有锁，搜索照常进行；期间提交的增量更新在装入后重放。
+     * </p>
+     */
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Solution> solutions;
+        try {
+            solutions = solutionMapper.findAllPublishedWithDetails();
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                // 构建失败：已建成的旧索引仍需应用期间的更新，未建成时首次搜索会重新全量构建
+                building = false;
+                if (!built) {
+                    pendingRefreshes.clear();
+                    pendingRenames.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (built) replayPending();
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            totalLength = 0;
+            solutions.forEach(this::add);
+            building = false;
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("解决方案搜索索引构建完成，共{}篇文档，{}个词项", solutions.size(), postings.size());
+        replayPending();
+    }
+
+    /**
+     * 在事务提交后按数据库中的最新状态重建单个文档，未发布或已删除的方案从索引中移除
+     *
+     * @param solutionId 解决方案ID
+     */
+    public void refresh(String solutionId) {
+        TransactionUtils.afterCommit(() -> refreshNow(solutionId));
+    }
+
+    /**
+     * 在事务提交后更新某分类下所有文档摘要中的分类名称
+     *
+     * @param categoryId 分类ID
+     * @param categoryName 新的分类名称
+     */
+    public void renameCategory(String categoryId, String categoryName) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (building) {
+                    pendingRenames.put(categoryId, categoryName);
+                    return;
+                }
+                applyRename(categoryId, categoryName);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 搜索已发布的解决方案
+     *
+     * @param query 查询文本
+     * @param pageable 分页参数
+     * @return 按相关度降序排列的命中结果
+     */
+    public Page<SolutionSearchHitDTO> search(String query, Pageable pageable) {
+        return search(query, pageable, id -> true);
+    }
+
+    /**
+     * 在满足条件的已发布解决方案中搜索
+     *
+     * @param query 查询文本
+     * @param pageable 分页参数
+     * @param filter 按解决方案ID筛选，只有通过的文档参与排序与计数
+     * @return 按相关度降序排列的命中结果
+     */
+    public Page<SolutionSearchHitDTO> search(String query, Pageable pageable, Predicate<String> filter) {
+        ensureBuilt();
+        if (query == null || query.isBlank()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        String text = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        Set<String> terms = new LinkedHashSet<>(CjkTokenizer.tokenize(text));
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = score(terms, filter);
+            int wanted = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), scores.size());
+            List<SolutionSearchHitDTO> hits = topK(scores, wanted).stream()
+                    .skip(pageable.getOffset())
+                    .map(doc -> SolutionSearchHitDTO.builder()
+                            .solution(documents.get(doc.id()).summary())
+                            .score(doc.score())
+                            .build())
+                    .toList();
+            return new PageImpl<>(hits, pageable, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== 内部实现 ====================
+
+    private void refreshNow(String solutionId) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingRefreshes.add(solutionId);
+                return;
+            }
+            // 尚未建成时首次搜索会全量构建，无需单独更新
+            if (!built) return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Optional<Solution> solution = solutionMapper.findByIdWithDetails(solutionId)
+                    .filter(s -> SolutionUtils.PUBLISHED.equals(s.getStatus()));
+            lock.writeLock().lock();
+            try {
+                remove(solutionId);
+                solution.ifPresent(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (Exception ex) {
+            logger.warn("更新解决方案[{}]的搜索索引失败", solutionId, ex);
+        }
+    }
+
+    private void replayPending() {
+        List<String> refreshes;
+        lock.writeLock().lock();
+        try {
+            refreshes = new ArrayList<>(pendingRefreshes);
+            pendingRefreshes.clear();
+            pendingRenames.forEach(this::applyRename);
+            pendingRenames.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        refreshes.forEach(this::refreshNow);
+    }
+
+    /**
+     * 替换某分类下文档的摘要，调用方需持有写锁
+     */
+    private void applyRename(String categoryId, String categoryName) {
+        documents.replaceAll((id, document) -> {
+            SolutionSummaryDTO summary = document.summary();
+            if (!Objects.equals(categoryId, summary.getCategoryId())) {
+                return document;
+            }
+            SolutionSummaryDTO renamed = SolutionSummaryDTO.builder()
+                    .id(summary.getId())
+                    .title(summary.getTitle())
+                    .categoryId(summary.getCategoryId())
+                    .categoryName(categoryName)
+                    .difficulty(summary.getDifficulty())
+                    .version(summary.getVersion())
+                    .updateTime(summary.getUpdateTime())
+                    .createdByUsername(summary.getCreatedByUsername())
+                    .build();
+            return new IndexedDocument(renamed, document.termFrequencies(), document.length());
+        });
+    }
+
+    private void ensureBuilt() {
+        if (built) return;
+        synchronized (this) {
+            if (!built) {
+                rebuild();
+            }
+        }
+    }
+
+    private Map<String, Double> score(Set<String> terms, Predicate<String> filter) {
+        Map<String, Double> scores = new HashMap<>();
+        int documentCount = documents.size();
+        if (documentCount == 0) {
+            return scores;
+        }
+        double averageLength = (double) totalLength / documentCount;
+
+        for (String term : terms) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting == null) continue;
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (Map.Entry<String, Integer> entry : posting.entrySet()) {
+                if (!filter.test(entry.getKey())) continue;
+                int tf = entry.getValue();
+                int length = documents.get(entry.getKey()).length();
+                double norm = tf + K1 * (1 - B + B * length / averageLength);
+                scores.merge(entry.getKey(), idf * tf * (K1 + 1) / norm, Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private static List<ScoredDocument> topK(Map<String, Double> scores, int k) {
+        if (k <= 0) {
+            return Collections.emptyList();
+        }
+        Comparator<ScoredDocument> order = Comparator.comparingDouble(ScoredDocument::score)
+                .thenComparing(ScoredDocument::id, Comparator.reverseOrder());
+        PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(k, order);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            ScoredDocument candidate = new ScoredDocument(entry.getKey(), entry.getValue());
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (order.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<ScoredDocument> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    private void add(Solution solution) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, solution.getTitle(), TITLE_WEIGHT);
+        addTokens(frequencies, solution.getDescription(), 1);
+        addTokens(frequencies, solution.getNotes(), 1);
+        if (solution.getSteps() != null) {
+            for (SolutionStep step : solution.getSteps()) {
+                addTokens(frequencies, step.getContent(), 1);
+            }
+        }
+
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        documents.put(solution.getId(), new IndexedDocument(
+                SolutionMapperUtil.toSolutionSummaryDTO(solution), frequencies, length));
+        totalLength += length;
+        frequencies.forEach((term, tf) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(solution.getId(), tf));
+    }
+
+    private void remove(String solutionId) {
+        IndexedDocument document = documents.remove(solutionId);
+        if (document == null) return;
+        totalLength -= document.length();
+        for (String term : document.termFrequencies().keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting == null) continue;
+            posting.remove(solutionId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : CjkTokenizer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+}
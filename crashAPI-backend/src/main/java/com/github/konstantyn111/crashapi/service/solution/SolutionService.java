@@ -2,30 +2,36 @@ package com.github.konstantyn111.crashapi.service.solution;
 
 import com.github.konstantyn111.crashapi.dto.solution.*;
 import com.github.konstantyn111.crashapi.entity.solution.Solution;
-import com.github.konstantyn111.crashapi.entity.solution.SolutionImage;
-import com.github.konstantyn111.crashapi.entity.solution.SolutionStep;
 import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import com.github.konstantyn111.crashapi.mapper.solution.*;
-import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
 import com.github.konstantyn111.crashapi.util.RestResponse;
 import com.github.konstantyn111.crashapi.util.SecurityValidationUtils;
+import com.github.konstantyn111.crashapi.util.solution.SolutionCursor;
+import com.github.konstantyn111.crashapi.util.solution.SolutionIdGenerator;
 import com.github.konstantyn111.crashapi.util.solution.SolutionMapperUtil;
 import com.github.konstantyn111.crashapi.util.solution.SolutionOperations;
+import com.github.konstantyn111.crashapi.util.solution.SolutionPatch;
 import com.github.konstantyn111.crashapi.util.solution.SolutionUtils;
+import com.github.konstantyn111.crashapi.util.solution.VersionRange;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -33,12 +39,34 @@ public class SolutionService {
 
     private static final Logger logger = LoggerFactory.getLogger(SolutionService.class);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    // 表示“全部问题”的伪分类，筛选时等同于不限分类
+    static final String ALL_CATEGORY = "all";
+
     private final SolutionMapper solutionMapper;
     private final SolutionStepMapper solutionStepMapper;
     private final SolutionImageMapper solutionImageMapper;
-    private final CategoryMapper categoryMapper;
-    private final UserMapper userMapper;
+    private final CategoryRegistry categoryRegistry;
+    private final SolutionDtoConverter solutionDtoConverter;
+    private final SolutionIdGenerator solutionIdGenerator;
+    private final CurrentUser currentUser;
     private final SolutionOperations solutionOperations;
+    private final SolutionCountRegistry solutionCounts;
+    private final SolutionReadCache solutionReadCache;
+    private final SolutionSearchIndex solutionSearchIndex;
+    private final CrashSignatureMatcher crashSignatureMatcher;
+    private final SolutionVersionIndex solutionVersionIndex;
+    private final SolutionAutosaveBuffer solutionAutosave;
+    private final SolutionCounterBuffer solutionCounters;
+    private final SolutionTrendingIndex solutionTrending;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 是否以单条语句（嵌套结果映射）加载解决方案及其步骤、图片；
+     * 关闭时回退为先查解决方案再按ID批量查询步骤与图片
+     */
+    @Value("${solution.query.single-round-trip:true}")
+    private boolean singleRoundTrip;
 
     // ==================== 公共接口 ====================
 
@@ -46,43 +74,157 @@ public class SolutionService {
      * 分页获取已发布的解决方案
      *
      * @param pageable 分页参数
-     * @return 包含解决方案列表的分页数据
+     * @param withTotal 是否统计总数，为false时总数仅为足以判断下一页的下界
+     * @return 包含解决方案列表与分面统计的分页数据
      */
-    @Transactional(readOnly = true)
-    public SolutionPageDto getPublishedSolutions(Pageable pageable) {
+    public SolutionPageDto<SolutionDTO> getPublishedSolutions(Pageable pageable, boolean withTotal) {
+        return getPublishedSolutions(pageable, withTotal, null, null, null);
+    }
+
+    /**
+     * 按适用版本、分类与难度分页获取已发布的解决方案
+     * <p>
+     * 指定版本时由内存中的版本索引筛选，数据库只按ID取当前页；
+     * 只按分类、难度筛选时直接查询，走(category_id, status, updated_at)复合索引，总数取自计数登记表。
+     * 结果附带分面统计，供侧栏显示各分类、各难度的数量。
+     * </p>
+     *
+     * @param pageable 分页参数
+     * @param withTotal 是否统计总数（未筛选时生效，筛选结果总是带总数）
+     * @param version 适用的MC版本，如“1.20.1”，为空表示不限
+     * @param categoryId 分类ID，为空或“all”表示不限
+     * @param difficulty 难度，为空表示不限
+     * @return 包含解决方案列表与分面统计的分页数据
+     * @throws BusinessException 当版本号或难度无效时抛出
+     */
+    public SolutionPageDto<SolutionDTO> getPublishedSolutions(Pageable pageable, boolean withTotal,
+                                                              String version, String categoryId, String difficulty) {
+        PublishedFilter filter = resolveFilter(version, categoryId, difficulty);
+        if (filter.isEmpty()) {
+            return solutionReadCache.getPage(pageable, withTotal, "full",
+                    () -> readOnly(() -> withFacets(loadPublishedSolutions(pageable, withTotal), filter)));
+        }
+        return solutionReadCache.getPage(pageable, true, filter.variant("full"),
+                () -> readOnly(() -> withFacets(loadFilteredPage(pageable, filter, solutionDtoConverter::toDetailedDTOs), filter)));
+    }
+
+    /**
+     * 分页获取已发布解决方案的摘要
+     * <p>
+     * 只查询列表卡片所需的列，不读取描述、备注等TEXT列，也不加载步骤与图片。
+     * </p>
+     *
+     * @param pageable 分页参数
+     * @param withTotal 是否统计总数，为false时总数仅为足以判断下一页的下界
+     * @return 包含解决方案摘要列表与分面统计的分页数据
+     */
+    public SolutionPageDto<SolutionSummaryDTO> getPublishedSolutionSummaries(Pageable pageable, boolean withTotal) {
+        return getPublishedSolutionSummaries(pageable, withTotal, null, null, null);
+    }
+
+    /**
+     * 按适用版本、分类与难度分页获取已发布解决方案的摘要
+     *
+     * @param pageable 分页参数
+     * @param withTotal 是否统计总数（未筛选时生效，筛选结果总是带总数）
+     * @param version 适用的MC版本，为空表示不限
+     * @param categoryId 分类ID，为空或“all”表示不限
+     * @param difficulty 难度，为空表示不限
+     * @return 包含解决方案摘要列表与分面统计的分页数据
+     * @throws BusinessException 当版本号或难度无效时抛出
+     */
+    public SolutionPageDto<SolutionSummaryDTO> getPublishedSolutionSummaries(Pageable pageable, boolean withTotal,
+                                                                            String version, String categoryId,
+                                                                            String difficulty) {
+        PublishedFilter filter = resolveFilter(version, categoryId, difficulty);
+        if (filter.isEmpty()) {
+            return solutionReadCache.getPage(pageable, withTotal, "summary", () -> readOnly(() -> {
+                int limit = withTotal ? pageable.getPageSize() : pageable.getPageSize() + 1;
+                List<Solution> solutions = solutionMapper.findPublishedSolutionSummaries((int) pageable.getOffset(), limit);
+                Page<Solution> page = toPage(solutions, pageable, withTotal ? solutionCounts::countPublished : null);
+                return withFacets(SolutionPageDto.fromPage(page.map(SolutionMapperUtil::toSolutionSummaryDTO)), filter);
+            }));
+        }
+        return solutionReadCache.getPage(pageable, true, filter.variant("summary"),
+                () -> readOnly(() -> withFacets(loadFilteredPage(pageable, filter,
+                        solutions -> solutions.stream().map(SolutionMapperUtil::toSolutionSummaryDTO).toList()), filter)));
+    }
+
+    private SolutionPageDto<SolutionDTO> loadPublishedSolutions(Pageable pageable, boolean withTotal) {
         int offset = (int) pageable.getOffset();
         int pageSize = pageable.getPageSize();
 
-        List<Solution> solutions = solutionMapper.findPublishedSolutions(offset, pageSize);
-        int total = solutionMapper.countPublishedSolutions();
-        
-        logger.info("获取已发布解决方案，当前页：{}，页面大小：{}，总记录数：{}", pageable.getPageNumber(), pageable.getPageSize(), total);
-        logger.info(solutions.toString());
+        int limit = withTotal ? pageSize : pageSize + 1;
+        List<Solution> solutions = singleRoundTrip
+                ? solutionMapper.findPublishedSolutionsWithDetails(offset, limit)
+                : solutionMapper.findPublishedSolutions(offset, limit);
+        Page<Solution> page = toPage(solutions, pageable, withTotal ? solutionCounts::countPublished : null);
+
+        logger.debug("获取已发布解决方案，当前页：{}，页面大小：{}，总记录数：{}", pageable.getPageNumber(), pageSize, page.getTotalElements());
 
-        if (solutions.isEmpty()) {
-            return SolutionPageDto.fromPage(new PageImpl<>(Collections.emptyList(), pageable, 0));
+        if (page.isEmpty()) {
+            return SolutionPageDto.fromPage(new PageImpl<SolutionDTO>(Collections.emptyList(), pageable, page.getTotalElements()));
         }
 
-        List<String> solutionIds = solutions.stream().map(Solution::getId).toList();
+        List<SolutionDTO> dtos = singleRoundTrip
+                ? page.getContent().stream().map(solutionDtoConverter::toDetailedDTO).toList()
+                : solutionDtoConverter.toDetailedDTOs(page.getContent());
+
+        return SolutionPageDto.fromPage(new PageImpl<>(dtos, pageable, page.getTotalElements()));
+    }
 
-        Map<String, List<String>> stepsMap = solutionStepMapper.findStepsBySolutionIds(solutionIds)
-                .stream()
-                .collect(Collectors.groupingBy(SolutionStep::getSolutionId,
-                        Collectors.mapping(SolutionStep::getContent, Collectors.toList())));
+    /**
+     * 全文搜索已发布的解决方案
+     *
+     * @param query 查询文本
+     * @param pageable 分页参数
+     * @return 按相关度排序的分页结果
+     */
+    public SolutionPageDto<SolutionSearchHitDTO> searchSolutions(String query, Pageable pageable) {
+        return SolutionPageDto.fromPage(solutionSearchIndex.search(query, pageable));
+    }
+
+    /**
+     * 在适用于指定版本、分类与难度的已发布解决方案中全文搜索
+     *
+     * @param query 查询文本
+     * @param pageable 分页参数
+     * @param version 适用的MC版本，为空表示不限
+     * @param categoryId 分类ID，为空或“all”表示不限
+     * @param difficulty 难度，为空表示不限
+     * @return 按相关度排序的分页结果
+     * @throws BusinessException 当版本号或难度无效时抛出
+     */
+    public SolutionPageDto<SolutionSearchHitDTO> searchSolutions(String query, Pageable pageable,
+                                                                 String version, String categoryId, String difficulty) {
+        PublishedFilter filter = resolveFilter(version, categoryId, difficulty);
+        if (filter.isEmpty()) {
+            return searchSolutions(query, pageable);
+        }
+        Set<String> allowed = new HashSet<>(
+                solutionVersionIndex.find(filter.version(), filter.categoryId(), filter.difficulty()));
+        return SolutionPageDto.fromPage(solutionSearchIndex.search(query, pageable, allowed::contains));
+    }
 
-        Map<String, List<String>> imagesMap = solutionImageMapper.findImagesBySolutionIds(solutionIds)
-                .stream()
-                .collect(Collectors.groupingBy(SolutionImage::getSolutionId,
-                        Collectors.mapping(SolutionImage::getImageUrl, Collectors.toList())));
+    /**
+     * 按游标获取已发布的解决方案
+     *
+     * @param cursor 上一页返回的游标，为空表示第一页
+     * @param size 每页条数
+     * @return 包含解决方案列表与下一页游标的数据
+     * @throws BusinessException 当游标无效时抛出
+     */
+    @Transactional(readOnly = true)
+    public SolutionCursorPageDto getPublishedSolutionsByCursor(String cursor, int size) {
+        SolutionCursor after = SolutionCursor.decode(cursor);
+        int limit = clampCursorPageSize(size);
 
-        List<SolutionDTO> dtos = solutions.stream()
-                .map(sol -> SolutionMapperUtil.toSolutionDTO(
-                        sol,
-                        stepsMap.getOrDefault(sol.getId(), Collections.emptyList()),
-                        imagesMap.getOrDefault(sol.getId(), Collections.emptyList())))
-                .toList();
+        List<Solution> solutions = solutionMapper.findPublishedSolutionsAfter(
+                after != null ? after.updatedAt() : null,
+                after != null ? after.id() : null,
+                limit + 1);
 
-        return SolutionPageDto.fromPage(new PageImpl<>(dtos, pageable, total));
+        return toCursorPage(solutions, limit, solutionDtoConverter::toDetailedDTOs);
     }
 
     /**
@@ -92,40 +234,44 @@ public class SolutionService {
      * @return 包含解决方案详情的响应结果
      * @throws BusinessException 当解决方案不存在时抛出
      */
-    @Transactional(readOnly = true)
     public RestResponse<SolutionDTO> getSolutionById(String solutionId) {
-        Solution solution = solutionMapper.findById(solutionId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.SOLUTION_NOT_FOUND, HttpStatus.NOT_FOUND, "解决方案不存在"));
-
-        List<String> steps = solutionStepMapper.findStepsBySolutionId(solutionId)
-                .stream().map(SolutionStep::getContent).toList();
-
-        List<String> images = solutionImageMapper.findImagesBySolutionId(solutionId)
-                .stream().map(SolutionImage::getImageUrl).toList();
-
-        SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution, steps, images);
+        SolutionDTO dto = solutionReadCache.getDetail(solutionId, () -> readOnly(() -> loadSolutionDetail(solutionId)));
         return RestResponse.success(dto, "获取解决方案成功");
     }
 
     /**
-     * 获取全部分类列表
+     * 确认解决方案可以公开查看，范围与详情接口一致，优先命中详情读缓存
      *
-     * @return 包含分类列表的响应结果
+     * @param solutionId 解决方案ID
+     * @throws BusinessException 当解决方案不存在时抛出
      */
-    @Transactional(readOnly = true)
-    public RestResponse<List<CategoryDTO>> getAllCategories() {
-        try {
-            List<CategoryDTO> dtos = categoryMapper.findAll().stream()
-                    .map(SolutionMapperUtil::toCategoryDTO)
-                    .toList();
-            logger.info(dtos.toString());
-            return RestResponse.success(dtos, "获取分类列表成功");
-        } catch (Exception ex) {
-            logger.error("获取分类列表失败", ex);
-            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                    ErrorCode.INTERNAL_SERVER_ERROR,
-                    "获取分类列表失败: " + ex.getMessage());
+    public void requireViewable(String solutionId) {
+        solutionReadCache.getDetail(solutionId, () -> readOnly(() -> loadSolutionDetail(solutionId)));
+    }
+
+    /**
+     * 在只读事务中执行读缓存未命中时的加载
+     * <p>
+     * 缓存读取入口本身不开启事务，命中缓存（包括等待同一键加载结果的请求）不会占用数据库连接，
+     * 只有真正查询数据库的加载过程持有连接。
+     * </p>
+     */
+    private <T> T readOnly(Supplier<T> loader) {
+        TransactionTemplate template = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        template.setReadOnly(true);
+        return template.execute(status -> loader.get());
+    }
+
+    private SolutionDTO loadSolutionDetail(String solutionId) {
+        if (singleRoundTrip) {
+            Solution solution = solutionMapper.findByIdWithDetails(solutionId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.SOLUTION_NOT_FOUND, HttpStatus.NOT_FOUND, "解决方案不存在"));
+            return solutionDtoConverter.toDetailedDTO(solution);
         }
+
+        Solution solution = solutionMapper.findById(solutionId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.SOLUTION_NOT_FOUND, HttpStatus.NOT_FOUND, "解决方案不存在"));
+        return solutionDtoConverter.toDetailedDTOs(List.of(solution)).get(0);
     }
 
     // ==================== 管理员接口 ====================
@@ -139,13 +285,17 @@ public class SolutionService {
     @Transactional
     public RestResponse<SolutionDTO> createSolution(SolutionCreateDTO createDTO) {
         try {
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
-            Solution solution = SolutionMapperUtil.toSolutionEntity(createDTO, admin);
+            User admin = currentUser.requireAdmin();
+            if (categoryRegistry.find(createDTO.getCategoryId()).isEmpty()) {
+                throw new BusinessException(ErrorCode.CATEGORY_NOT_FOUND, HttpStatus.NOT_FOUND, "问题分类不存在");
+            }
+            Solution solution = SolutionMapperUtil.toSolutionEntity(solutionIdGenerator.nextId(), createDTO, admin);
             solutionMapper.insert(solution);
+            solutionCounts.recordCreated(solution);
 
             solutionOperations.createStepsAndImages(solution, createDTO, solutionStepMapper, solutionImageMapper);
 
-            SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution, createDTO.getSteps(), Collections.emptyList());
+            SolutionDTO dto = solutionDtoConverter.toDTO(solution, createDTO.getSteps(), Collections.emptyList());
             return RestResponse.success(dto, "解决方案创建成功");
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
@@ -162,19 +312,73 @@ public class SolutionService {
      * @param updateDTO 解决方案更新数据
      * @return 包含更新后解决方案详情的响应结果
      */
-    @Transactional
     public RestResponse<SolutionDTO> updateSolutionAdmin(String solutionId, SolutionUpdateDTO updateDTO) {
         try {
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
+            User admin = currentUser.requireAdmin();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             SecurityValidationUtils.validateSolutionOwnership(solution, admin, "修改");
             validateSolutionStatusForUpdate(solution);
+            // 与patchSolutionAdmin相同，在事务开始前丢弃自动保存，事务读到的步骤与图片不早于其写入
+            solutionAutosave.discard(solutionId);
+
+            return transactionTemplate.execute(status -> {
+                Solution current = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+                validateSolutionStatusForUpdate(current);
+                SolutionCountRegistry.Key before = SolutionCountRegistry.Key.of(current);
+                solutionOperations.updateCore(current, updateDTO, solutionMapper, solutionStepMapper, solutionImageMapper);
+                solutionCounts.recordChanged(before, current);
+                onSolutionChanged(solutionId, SolutionUtils.PUBLISHED.equals(current.getStatus()));
+
+                SolutionDTO dto = solutionDtoConverter.toDTO(current,
+                        updateDTO.getSteps(), updateDTO.getExistingImageUrls());
+                return RestResponse.success(dto, "解决方案更新成功");
+            });
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "更新解决方案失败: " + ex.getMessage());
+        }
+    }
 
-            solutionOperations.updateCore(solution, updateDTO, solutionMapper, solutionStepMapper, solutionImageMapper);
+    /**
+     * 管理员按合并补丁部分更新解决方案
+     * <p>
+     * 只写入补丁中出现且发生变化的字段；该方案尚未写入的自动保存先与补丁合并，
+     * 补丁中的字段优先。
+     * </p>
+     * <p>
+     * 自动保存在事务开始前取出：{@link SolutionAutosaveBuffer#take}会等待进行中的写入提交，
+     * 随后开启的事务才读取方案与步骤、图片，读到的是提交后的数据（同一事务内重复查询
+     * 只会命中MyBatis会话缓存与InnoDB的一致性快照）。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param body 合并补丁（application/merge-patch+json）
+     * @return 包含更新后解决方案详情的响应结果
+     */
+    public RestResponse<SolutionDTO> patchSolutionAdmin(String solutionId, Map<String, Object> body) {
+        try {
+            User admin = currentUser.requireAdmin();
+            SolutionPatch patch = SolutionPatch.of(body);
+            Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+            SecurityValidationUtils.validateSolutionOwnership(solution, admin, "修改");
+            validateSolutionStatusForUpdate(solution);
 
-            SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution,
-                    updateDTO.getSteps(), updateDTO.getExistingImageUrls());
-            return RestResponse.success(dto, "解决方案更新成功");
+            Optional<SolutionAutosaveBuffer.Pending> pending = solutionAutosave.take(solutionId);
+            SolutionPatch merged = pending.map(taken -> taken.patch().merge(patch)).orElse(patch);
+            try {
+                return transactionTemplate.execute(status -> {
+                    Solution current = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+                    validateSolutionStatusForUpdate(current);
+                    applyPatch(current, merged);
+                    return RestResponse.success(loadSolutionDetail(solutionId), "解决方案更新成功");
+                });
+            } catch (RuntimeException ex) {
+                // 事务回滚，取出的自动保存并未写入，放回缓冲区
+                pending.ifPresent(taken -> solutionAutosave.restore(solutionId, taken));
+                throw ex;
+            }
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
         } catch (Exception ex) {
@@ -183,6 +387,58 @@ public class SolutionService {
         }
     }
 
+    /**
+     * 管理员自动保存草稿
+     * <p>
+     * 补丁校验后只在内存中合并，由{@link SolutionAutosaveBuffer}定时写入数据库。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param body 合并补丁
+     * @return 操作结果响应
+     */
+    @Transactional(readOnly = true)
+    public RestResponse<SolutionDTO> autosaveSolutionAdmin(String solutionId, Map<String, Object> body) {
+        try {
+            User admin = currentUser.requireAdmin();
+            SolutionPatch patch = SolutionPatch.of(body);
+            Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+            SecurityValidationUtils.validateSolutionOwnership(solution, admin, "修改");
+            validateSolutionStatusForAutosave(solution);
+
+            if (!patch.isEmpty()) {
+                solutionAutosave.submit(solutionId, admin.getId(), patch);
+            }
+            return RestResponse.success(null, "草稿已暂存，将自动保存");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "自动保存失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 写入缓冲区中累积的自动保存
+     * <p>
+     * 由{@link SolutionAutosaveBuffer}在后台调用，没有登录上下文，按暂存时的管理员复核归属与状态。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param userId 提交补丁的管理员ID
+     * @param patch 合并后的补丁
+     * @throws BusinessException 当方案已不存在、归属不符或已不是草稿时抛出
+     */
+    @Transactional
+    public void saveAutosave(String solutionId, Long userId, SolutionPatch patch) {
+        Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+        if (!solution.getCreatedBy().equals(userId)) {
+            throw new BusinessException(ErrorCode.PERMISSION_DENIED, HttpStatus.FORBIDDEN, "只能修改自己创建的解决方案");
+        }
+        validateSolutionStatusForAutosave(solution);
+        applyPatch(solution, patch);
+    }
+
     /**
      * 删除解决方案
      *
@@ -193,13 +449,17 @@ public class SolutionService {
     public RestResponse<Void> deleteSolution(String solutionId) {
         try {
             logger.info("删除{},", solutionId);
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
+            User admin = currentUser.requireAdmin();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             SecurityValidationUtils.validateSolutionOwnership(solution, admin, "删除");
             validateSolutionStatusForDelete(solution);
+            solutionAutosave.discard(solutionId);
 
             solutionOperations.deleteAssociations(solutionId, solutionStepMapper, solutionImageMapper);
             solutionMapper.delete(solutionId);
+            solutionCounters.forget(solutionId);
+            solutionCounts.recordDeleted(solution);
+            onSolutionChanged(solutionId, SolutionUtils.PUBLISHED.equals(solution.getStatus()));
 
             return RestResponse.success("解决方案删除成功");
         } catch (BusinessException ex) {
@@ -219,12 +479,11 @@ public class SolutionService {
     @Transactional
     public RestResponse<Void> withdrawSolution(String solutionId) {
         try {
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
+            User admin = currentUser.requireAdmin();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             SecurityValidationUtils.validateSolutionOwnership(solution, admin, "撤回");
 
-            SolutionUtils.transitionState(solution, SolutionUtils.StateAction.WITHDRAW, null);
-            solutionMapper.update(solution);
+            transitionAndSave(solution, SolutionUtils.StateAction.WITHDRAW, null);
 
             return RestResponse.success("解决方案已撤回为草稿状态");
         } catch (BusinessException ex) {
@@ -237,19 +496,33 @@ public class SolutionService {
 
     /**
      * 提交解决方案进行审核
+     * <p>
+     * 未写入的自动保存随提交一起落库，审核看到的是最新内容；
+     * 与{@link #patchSolutionAdmin}相同，自动保存在事务开始前取出。
+     * </p>
      *
      * @param solutionId 解决方案ID
      * @return 操作结果响应
      */
-    @Transactional
     public RestResponse<Void> submitSolutionForReview(String solutionId) {
         try {
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
+            User admin = currentUser.requireAdmin();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             SecurityValidationUtils.validateSolutionOwnership(solution, admin, "提交");
 
-            SolutionUtils.transitionState(solution, SolutionUtils.StateAction.SUBMIT_FOR_REVIEW, null);
-            solutionMapper.update(solution);
+            Optional<SolutionAutosaveBuffer.Pending> pending = solutionAutosave.take(solutionId);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Solution current = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
+                    if (pending.isPresent() && SolutionUtils.DRAFT.equals(current.getStatus())) {
+                        applyPatch(current, pending.get().patch());
+                    }
+                    transitionAndSave(current, SolutionUtils.StateAction.SUBMIT_FOR_REVIEW, null);
+                });
+            } catch (RuntimeException ex) {
+                pending.ifPresent(taken -> solutionAutosave.restore(solutionId, taken));
+                throw ex;
+            }
 
             return RestResponse.success("解决方案已提交审核");
         } catch (BusinessException ex) {
@@ -265,20 +538,48 @@ public class SolutionService {
      *
      * @param pageable 分页参数
      * @param status 解决方案状态筛选条件
+     * @param withTotal 是否统计总数，为false时总数仅为足以判断下一页的下界
      * @return 包含解决方案列表的分页响应结果
      */
     @Transactional(readOnly = true)
-    public RestResponse<Page<SolutionDTO>> getMySolutions(Pageable pageable, String status) {
+    public RestResponse<Page<SolutionDTO>> getMySolutions(Pageable pageable, String status, boolean withTotal) {
+        try {
+            User admin = currentUser.requireAdmin();
+            int limit = withTotal ? pageable.getPageSize() : pageable.getPageSize() + 1;
+            List<Solution> solutions = solutionMapper.findByCreator(admin.getId(), status, limit, (int) pageable.getOffset());
+            Page<Solution> page = toPage(solutions, pageable,
+                    withTotal ? () -> solutionCounts.countByCreator(admin.getId(), status) : null);
+
+            return RestResponse.success(page.map(sol -> solutionDtoConverter.toDTO(sol, null, null)), "获取解决方案列表成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取解决方案列表失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 按游标获取当前用户创建的解决方案
+     *
+     * @param cursor 上一页返回的游标，为空表示第一页
+     * @param size 每页条数
+     * @param status 解决方案状态筛选条件
+     * @return 包含解决方案列表与下一页游标的响应结果
+     */
+    @Transactional(readOnly = true)
+    public RestResponse<SolutionCursorPageDto> getMySolutionsByCursor(String cursor, int size, String status) {
         try {
-            User admin = SecurityValidationUtils.validateAdminPermissions(userMapper);
-            List<Solution> solutions = solutionMapper.findByCreator(admin.getId(), status, pageable.getPageSize(), (int) pageable.getOffset());
-            long total = solutionMapper.countByCreator(admin.getId(), status);
+            User admin = currentUser.requireAdmin();
+            SolutionCursor after = SolutionCursor.decode(cursor);
+            int limit = clampCursorPageSize(size);
 
-            List<SolutionDTO> dtos = solutions.stream()
-                    .map(sol -> SolutionMapperUtil.toSolutionDTO(sol, null, null))
-                    .toList();
+            List<Solution> solutions = solutionMapper.findByCreatorAfter(admin.getId(), status,
+                    after != null ? after.updatedAt() : null,
+                    after != null ? after.id() : null,
+                    limit + 1);
 
-            return RestResponse.success(new PageImpl<>(dtos, pageable, total), "获取解决方案列表成功");
+            return RestResponse.success(toCursorPage(solutions, limit, solutionDtoConverter::toSummaryDTOs), "获取解决方案列表成功");
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
         } catch (Exception ex) {
@@ -296,9 +597,11 @@ public class SolutionService {
     @Transactional(readOnly = true)
     public RestResponse<SolutionDTO> getSolutionByIdAdmin(String solutionId) {
         try {
-            SecurityValidationUtils.validateAdminPermissions(userMapper);
+            currentUser.requireAdmin();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
-            SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution, null, null);
+            SolutionDTO dto = solutionDtoConverter.toDTO(solution, null, null);
+            // 叠加尚未写入的自动保存，刷新页面不会看到旧内容
+            solutionAutosave.peek(solutionId).ifPresent(pending -> pending.patch().applyTo(dto));
             return RestResponse.success(dto, "获取解决方案成功");
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
@@ -314,19 +617,45 @@ public class SolutionService {
      * 分页获取待审核的解决方案
      *
      * @param pageable 分页参数
+     * @param withTotal 是否统计总数，为false时总数仅为足以判断下一页的下界
      * @return 包含待审核解决方案列表的分页响应结果
      */
     @Transactional(readOnly = true)
-    public RestResponse<Page<SolutionDTO>> getPendingSolutions(Pageable pageable) {
+    public RestResponse<Page<SolutionDTO>> getPendingSolutions(Pageable pageable, boolean withTotal) {
+        try {
+            int limit = withTotal ? pageable.getPageSize() : pageable.getPageSize() + 1;
+            List<Solution> solutions = solutionMapper.findByStatus(SolutionUtils.PENDING_REVIEW, limit, (int) pageable.getOffset());
+            Page<Solution> page = toPage(solutions, pageable,
+                    withTotal ? () -> solutionCounts.countByStatus(SolutionUtils.PENDING_REVIEW) : null);
+
+            return RestResponse.success(page.map(sol -> solutionDtoConverter.toDTO(sol, null, null)), "获取待审核解决方案成功");
+        } catch (Exception ex) {
+            return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    ErrorCode.INTERNAL_SERVER_ERROR, "获取待审核解决方案失败: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 按游标获取待审核的解决方案
+     *
+     * @param cursor 上一页返回的游标，为空表示第一页
+     * @param size 每页条数
+     * @return 包含待审核解决方案列表与下一页游标的响应结果
+     */
+    @Transactional(readOnly = true)
+    public RestResponse<SolutionCursorPageDto> getPendingSolutionsByCursor(String cursor, int size) {
         try {
-            List<Solution> solutions = solutionMapper.findByStatus(SolutionUtils.PENDING_REVIEW, pageable.getPageSize(), (int) pageable.getOffset());
-            long total = solutionMapper.countByStatus(SolutionUtils.PENDING_REVIEW);
+            SolutionCursor after = SolutionCursor.decode(cursor);
+            int limit = clampCursorPageSize(size);
 
-            List<SolutionDTO> dtos = solutions.stream()
-                    .map(sol -> SolutionMapperUtil.toSolutionDTO(sol, null, null))
-                    .toList();
+            List<Solution> solutions = solutionMapper.findByStatusAfter(SolutionUtils.PENDING_REVIEW,
+                    after != null ? after.updatedAt() : null,
+                    after != null ? after.id() : null,
+                    limit + 1);
 
-            return RestResponse.success(new PageImpl<>(dtos, pageable, total), "获取待审核解决方案成功");
+            return RestResponse.success(toCursorPage(solutions, limit, solutionDtoConverter::toSummaryDTOs), "获取待审核解决方案成功");
+        } catch (BusinessException ex) {
+            return RestResponse.fail(ex);
         } catch (Exception ex) {
             return RestResponse.fail(HttpStatus.INTERNAL_SERVER_ERROR.value(),
                     ErrorCode.INTERNAL_SERVER_ERROR, "获取待审核解决方案失败: " + ex.getMessage());
@@ -342,13 +671,12 @@ public class SolutionService {
     @Transactional
     public RestResponse<Void> approveSolution(String solutionId) {
         try {
-            User dev = SecurityValidationUtils.validateDeveloperPermissions(userMapper);
+            User dev = currentUser.requireDeveloper();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             validateSolutionStatusForReview(solution);
 
-            SolutionUtils.transitionState(solution, SolutionUtils.StateAction.APPROVE, null);
             solution.setReviewedBy(dev.getId());
-            solutionMapper.update(solution);
+            transitionAndSave(solution, SolutionUtils.StateAction.APPROVE, null);
 
             return RestResponse.success("解决方案已批准发布");
         } catch (BusinessException ex) {
@@ -369,13 +697,12 @@ public class SolutionService {
     @Transactional
     public RestResponse<Void> rejectSolution(String solutionId, String reason) {
         try {
-            User dev = SecurityValidationUtils.validateDeveloperPermissions(userMapper);
+            User dev = currentUser.requireDeveloper();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             validateSolutionStatusForReview(solution);
 
-            SolutionUtils.transitionState(solution, SolutionUtils.StateAction.REJECT, reason);
             solution.setReviewedBy(dev.getId());
-            solutionMapper.update(solution);
+            transitionAndSave(solution, SolutionUtils.StateAction.REJECT, reason);
 
             return RestResponse.success("解决方案已拒绝");
         } catch (BusinessException ex) {
@@ -396,15 +723,18 @@ public class SolutionService {
     @Transactional
     public RestResponse<SolutionDTO> updateSolutionDeveloper(String solutionId, SolutionUpdateDTO updateDTO) {
         try {
-            SecurityValidationUtils.validateDeveloperPermissions(userMapper);
+            currentUser.requireDeveloper();
             Solution solution = SecurityValidationUtils.validateSolutionExists(solutionMapper, solutionId);
             if (!SolutionUtils.PUBLISHED.equals(solution.getStatus())) {
                 throw new BusinessException(ErrorCode.INVALID_SOLUTION_STATUS,
                         HttpStatus.BAD_REQUEST, "只能修改已发布状态的解决方案");
             }
 
+            SolutionCountRegistry.Key before = SolutionCountRegistry.Key.of(solution);
             solutionOperations.updateCore(solution, updateDTO, solutionMapper, solutionStepMapper, solutionImageMapper);
-            SolutionDTO dto = SolutionMapperUtil.toSolutionDTO(solution, updateDTO.getSteps(), updateDTO.getExistingImageUrls());
+            solutionCounts.recordChanged(before, solution);
+            onSolutionChanged(solutionId, true);
+            SolutionDTO dto = solutionDtoConverter.toDTO(solution, updateDTO.getSteps(), updateDTO.getExistingImageUrls());
             return RestResponse.success(dto, "解决方案更新成功");
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
@@ -414,6 +744,174 @@ public class SolutionService {
         }
     }
 
+    // ==================== 状态流转 ====================
+
+    /**
+     * 应用合并补丁，有变化时同步计数并使读缓存失效
+     */
+    private void applyPatch(Solution solution, SolutionPatch patch) {
+        SolutionCountRegistry.Key before = SolutionCountRegistry.Key.of(solution);
+        if (solutionOperations.applyPatch(solution, patch, solutionMapper, solutionStepMapper, solutionImageMapper)) {
+            solutionCounts.recordChanged(before, solution);
+            onSolutionChanged(solution.getId(), SolutionUtils.PUBLISHED.equals(solution.getStatus()));
+        }
+    }
+
+    /**
+     * 执行状态流转并保存，同时更新计数并使读缓存失效
+     */
+    private void transitionAndSave(Solution solution, SolutionUtils.StateAction action, String reason) {
+        SolutionCountRegistry.Key before = SolutionCountRegistry.Key.of(solution);
+        SolutionUtils.transitionState(solution, action, reason);
+        solutionMapper.update(solution);
+        solutionCounts.recordChanged(before, solution);
+
+        boolean publishedListChanged = SolutionUtils.PUBLISHED.equals(before.status())
+                || SolutionUtils.PUBLISHED.equals(solution.getStatus());
+        onSolutionChanged(solution.getId(), publishedListChanged);
+    }
+
+    /**
+     * 解决方案变更后使读缓存失效，影响已发布集合时同步更新搜索索引
+     */
+    private void onSolutionChanged(String solutionId, boolean publishedListChanged) {
+        if (publishedListChanged) {
+            // 先于缓存失效重建，失效后的加载不会再用到旧索引
+            solutionVersionIndex.refresh();
+        }
+        solutionReadCache.evict(solutionId, publishedListChanged);
+        if (publishedListChanged) {
+            solutionSearchIndex.refresh(solutionId);
+            crashSignatureMatcher.refresh();
+            solutionTrending.refresh(solutionId);
+        }
+    }
+
+    // ==================== 列表组装 ====================
+
+    /**
+     * 公共列表的筛选条件
+     *
+     * @param version 编码后的版本，null表示不限
+     * @param categoryId 分类ID，null表示不限
+     * @param difficulty 难度，null表示不限
+     */
+    private record PublishedFilter(Integer version, String categoryId, String difficulty) {
+        boolean isEmpty() {
+            return version == null && categoryId == null && difficulty == null;
+        }
+
+        String variant(String view) {
+            return view + ";v=" + version + ";c=" + categoryId + ";d=" + difficulty;
+        }
+    }
+
+    /**
+     * 分页加载筛选结果
+     * <p>
+     * 指定版本时按版本索引给出的ID分页，只查询当前页；否则按分类、难度直接分页查询。
+     * </p>
+     */
+    private <T> SolutionPageDto<T> loadFilteredPage(Pageable pageable, PublishedFilter filter,
+                                                    Function<List<Solution>, List<T>> converter) {
+        if (filter.version() == null) {
+            List<Solution> solutions = solutionMapper.findPublishedByFacets(filter.categoryId(), filter.difficulty(),
+                    (int) pageable.getOffset(), pageable.getPageSize());
+            long total = solutionCounts.countByFacet(filter.categoryId(), filter.difficulty(), SolutionUtils.PUBLISHED);
+            return SolutionPageDto.fromPage(new PageImpl<>(converter.apply(solutions), pageable, total));
+        }
+
+        List<String> solutionIds = solutionVersionIndex.find(filter.version(), filter.categoryId(), filter.difficulty());
+        int from = (int) Math.min(pageable.getOffset(), solutionIds.size());
+        int to = Math.min(from + pageable.getPageSize(), solutionIds.size());
+        List<String> pageIds = solutionIds.subList(from, to);
+
+        List<Solution> solutions = pageIds.isEmpty()
+                ? Collections.emptyList()
+                : solutionMapper.findPublishedSolutionsByIds(pageIds);
+        return SolutionPageDto.fromPage(new PageImpl<>(converter.apply(solutions), pageable, solutionIds.size()));
+    }
+
+    /**
+     * 附加分面统计：指定版本时由版本索引统计，否则直接读取计数登记表
+     */
+    private <T> SolutionPageDto<T> withFacets(SolutionPageDto<T> page, PublishedFilter filter) {
+        SolutionFacetsDTO facets = filter.version() != null
+                ? solutionVersionIndex.facets(filter.version(), filter.categoryId(), filter.difficulty())
+                : SolutionFacetsDTO.builder()
+                        .categories(solutionCounts.countCategoriesByFacet(filter.difficulty(), SolutionUtils.PUBLISHED))
+                        .difficulties(solutionCounts.countDifficultiesByFacet(filter.categoryId(), SolutionUtils.PUBLISHED))
+                        .build();
+        page.setFacets(facets);
+        return page;
+    }
+
+    private static PublishedFilter resolveFilter(String version, String categoryId, String difficulty) {
+        Integer versionPoint = null;
+        if (version != null && !version.isBlank()) {
+            versionPoint = VersionRange.parsePoint(version);
+            if (versionPoint < 0) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                        HttpStatus.BAD_REQUEST, "无效的版本号: " + version);
+            }
+        }
+        String category = categoryId == null || categoryId.isBlank() || ALL_CATEGORY.equals(categoryId)
+                ? null : categoryId;
+        String level = difficulty == null || difficulty.isBlank() ? null : difficulty;
+        if (level != null && !SolutionUtils.DIFFICULTIES.contains(level)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                    HttpStatus.BAD_REQUEST, "无效的难度: " + difficulty);
+        }
+        return new PublishedFilter(versionPoint, category, level);
+    }
+
+    /**
+     * 组装分页结果
+     * <p>
+     * 提供总数时按总数分页；未提供时记录按页大小 + 1查询，
+     * 多出的一条仅用于判断是否存在下一页，总数为由此推出的下界。
+     * </p>
+     *
+     * @param solutions 查询出的记录
+     * @param pageable 分页参数
+     * @param total 总数来源，为null表示不统计总数
+     */
+    private Page<Solution> toPage(List<Solution> solutions, Pageable pageable, LongSupplier total) {
+        if (total != null) {
+            return new PageImpl<>(solutions, pageable, total.getAsLong());
+        }
+        int pageSize = pageable.getPageSize();
+        boolean hasNext = solutions.size() > pageSize;
+        List<Solution> content = hasNext ? solutions.subList(0, pageSize) : solutions;
+        long lowerBound = pageable.getOffset() + content.size() + (hasNext ? 1 : 0);
+        return new PageImpl<>(content, pageable, lowerBound);
+    }
+
+    /**
+     * 组装游标分页结果
+     *
+     * @param solutions 按limit + 1查询出的记录，多出的一条用于判断是否有下一页
+     * @param limit 每页条数
+     * @param converter DTO转换方式
+     */
+    private SolutionCursorPageDto toCursorPage(List<Solution> solutions, int limit,
+                                               Function<List<Solution>, List<SolutionDTO>> converter) {
+        boolean hasNext = solutions.size() > limit;
+        List<Solution> page = hasNext ? solutions.subList(0, limit) : solutions;
+        String nextCursor = hasNext ? SolutionCursor.of(page.get(page.size() - 1)).encode() : null;
+
+        return SolutionCursorPageDto.builder()
+                .content(converter.apply(page))
+                .size(limit)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private int clampCursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
     // ==================== 状态验证 ====================
 
     private void validateSolutionStatusForUpdate(Solution solution) {
@@ -424,6 +922,13 @@ public class SolutionService {
         }
     }
 
+    private void validateSolutionStatusForAutosave(Solution solution) {
+        if (!SolutionUtils.DRAFT.equals(solution.getStatus())) {
+            throw new BusinessException(ErrorCode.INVALID_SOLUTION_STATUS,
+                    HttpStatus.BAD_REQUEST, "只有草稿支持自动保存");
+        }
+    }
+
     private void validateSolutionStatusForDelete(Solution solution) {
         if (!SolutionUtils.DRAFT.equals(solution.getStatus())) {
             throw new BusinessException(ErrorCode.INVALID_SOLUTION_STATUS,
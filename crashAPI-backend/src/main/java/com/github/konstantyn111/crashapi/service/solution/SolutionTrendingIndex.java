@@ -0,0 +1,326 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 热门解决方案排行
+ * <p>
+ * 浏览、“对我有帮助”与崩溃日志匹配各按权重计分，得分随时间指数衰减（按半衰期）。
+ * 采用前向衰减：事件按发生时刻相对固定基准时刻放大后累加，所有方案的衰减因子相同，
+ * 无需定时给全部方案重新算分；存储的得分只增不减，
+ * 因此每个分类只需一个容量为K的小顶堆即可精确维护前K名。
+ * </p>
+ * <p>
+ * 请求线程只把事件权重累加到分段计数器，定时批量计入得分并只更新受影响分类的堆，
+ * 排行以不可变快照发布，读取无锁。方案发布状态与分类取自{@link SolutionVersionIndex}，
+ * 未发布的方案不计分；方案撤回、删除或改分类时在事务提交后移出或迁移。
+ * 得分只保存在内存中，重启后从零开始积累。
+ * </p>
+ */
+@Component
+public class SolutionTrendingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionTrendingIndex.class);
+
+    static final double VIEW_WEIGHT = 1;
+    static final double HELPFUL_WEIGHT = 5;
+    static final double MATCH_WEIGHT = 3;
+
+    /**
+     * 基准时刻落后超过该半衰期数时整体换算到新的基准，避免放大系数溢出
+     */
+    private static final int REBASE_HALF_LIVES = 64;
+
+    /**
+     * 排行中的方案
+     *
+     * @param solutionId 解决方案ID
+     * @param score 得分
+     */
+    public record Ranked(String solutionId, double score) {
+    }
+
+    /**
+     * 排行快照，得分为相对基准时刻的放大值
+     */
+    private record Rankings(long landmark, List<Ranked> overall, Map<String, List<Ranked>> byCategory) {
+    }
+
+    private static final class Score {
+        String categoryId;
+        double value;
+
+        Score(String categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+
+    /**
+     * 得分最高的K个方案，小顶堆
+     */
+    private static final class TopK {
+        private final int capacity;
+        private final PriorityQueue<Ranked> heap = new PriorityQueue<>(Comparator.comparingDouble(Ranked::score));
+        private final Map<String, Ranked> members = new HashMap<>();
+
+        TopK(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * 按新的得分放入堆中，得分只会增加
+         */
+        void offer(String solutionId, double score) {
+            Ranked previous = members.remove(solutionId);
+            if (previous != null) {
+                heap.remove(previous);
+            } else if (heap.size() >= capacity) {
+                if (score <= heap.peek().score()) return;
+                members.remove(heap.poll().solutionId());
+            }
+            Ranked ranked = new Ranked(solutionId, score);
+            heap.add(ranked);
+            members.put(solutionId, ranked);
+        }
+
+        boolean remove(String solutionId) {
+            Ranked ranked = members.remove(solutionId);
+            return ranked != null && heap.remove(ranked);
+        }
+
+        void clear() {
+            heap.clear();
+            members.clear();
+        }
+
+        List<Ranked> sorted() {
+            List<Ranked> list = new ArrayList<>(heap);
+            list.sort(Comparator.comparingDouble(Ranked::score).reversed().thenComparing(Ranked::solutionId));
+            return List.copyOf(list);
+        }
+    }
+
+    private final SolutionVersionIndex solutionVersionIndex;
+    private final int capacity;
+    private final long halfLife;
+    private final double decayRate;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, DoubleAdder> pending = new ConcurrentHashMap<>();
+
+    // 以下状态由本对象的锁保护
+    private final Map<String, Score> scores = new HashMap<>();
+    private final TopK overall;
+    private final Map<String, TopK> byCategory = new HashMap<>();
+    private long landmark;
+
+    private volatile Rankings rankings;
+
+    @Autowired
+    public SolutionTrendingIndex(SolutionVersionIndex solutionVersionIndex,
+                                 @Value("${solution.trending.capacity:50}") int capacity,
+                                 @Value("${solution.trending.half-life:259200000}") long halfLife) {
+        this(solutionVersionIndex, capacity, halfLife, System::currentTimeMillis);
+    }
+
+    SolutionTrendingIndex(SolutionVersionIndex solutionVersionIndex, int capacity, long halfLife, LongSupplier clock) {
+        if (capacity < 1 || halfLife < 1) {
+            throw new IllegalArgumentException("排行容量与半衰期必须为正数");
+        }
+        this.solutionVersionIndex = solutionVersionIndex;
+        this.capacity = capacity;
+        this.halfLife = halfLife;
+        this.decayRate = Math.log(2) / halfLife;
+        this.clock = clock;
+        this.overall = new TopK(capacity);
+        this.landmark = clock.getAsLong();
+        this.rankings = new Rankings(landmark, List.of(), Map.of());
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void recordView(String solutionId) {
+        record(solutionId, VIEW_WEIGHT);
+    }
+
+    public void recordHelpful(String solutionId) {
+        record(solutionId, HELPFUL_WEIGHT);
+    }
+
+    public void recordMatch(String solutionId) {
+        record(solutionId, MATCH_WEIGHT);
+    }
+
+    /**
+     * 当前得分最高的方案
+     *
+     * @param categoryId 分类ID，为null表示全部分类
+     * @param limit 数量，不超过{@link #capacity()}
+     * @return 按当前得分降序排列的方案
+     */
+    public List<Ranked> top(String categoryId, int limit) {
+        Rankings current = rankings;
+        List<Ranked> ranked = categoryId == null
+                ? current.overall()
+                : current.byCategory().getOrDefault(categoryId, List.of());
+        double decay = Math.exp(-decayRate * (clock.getAsLong() - current.landmark()));
+        return ranked.stream()
+                .limit(Math.max(limit, 0))
+                .map(entry -> new Ranked(entry.solutionId(), entry.score() * decay))
+                .toList();
+    }
+
+    /**
+     * 把累积的事件计入得分，只重排受影响的分类
+     */
+    @Scheduled(fixedDelayString = "${solution.trending.refresh-interval:1000}")
+    public synchronized void apply() {
+        long now = clock.getAsLong();
+        if (now - landmark > REBASE_HALF_LIVES * halfLife) {
+            rebase(now);
+        }
+        double boost = Math.exp(decayRate * (now - landmark));
+        Set<String> touched = new HashSet<>();
+        pending.forEach((solutionId, adder) -> {
+            double weight = adder.sumThenReset();
+            if (weight == 0) return;
+            Optional<String> categoryId = solutionVersionIndex.categoryOf(solutionId);
+            if (categoryId.isEmpty()) return;
+
+            Score score = scores.computeIfAbsent(solutionId, id -> new Score(categoryId.get()));
+            if (!score.categoryId.equals(categoryId.get())) {
+                relocate(solutionId, score, categoryId.get(), touched);
+            }
+            score.value += weight * boost;
+            overall.offer(solutionId, score.value);
+            category(score.categoryId).offer(solutionId, score.value);
+            touched.add(score.categoryId);
+        });
+        if (!touched.isEmpty()) {
+            publish(touched);
+        }
+    }
+
+    /**
+     * 在事务提交后按已发布集合的最新状态移出或迁移方案
+     * <p>
+     * 须在{@link SolutionVersionIndex#refresh()}之后调用，提交后的回调按注册顺序执行。
+     * </p>
+     */
+    public void refresh(String solutionId) {
+        TransactionUtils.afterCommit(() -> {
+            try {
+                update(solutionId);
+            } catch (Exception ex) {
+                logger.warn("更新解决方案[{}]的热门排行失败", solutionId, ex);
+            }
+        });
+    }
+
+    private synchronized void update(String solutionId) {
+        Optional<String> categoryId = solutionVersionIndex.categoryOf(solutionId);
+        Score score = scores.get(solutionId);
+        Set<String> touched = new HashSet<>();
+        if (categoryId.isEmpty()) {
+            pending.remove(solutionId);
+            if (score == null) return;
+            scores.remove(solutionId);
+            if (overall.remove(solutionId)) {
+                refill(overall, null);
+                touched.add(score.categoryId);
+            }
+            if (category(score.categoryId).remove(solutionId)) {
+                refill(category(score.categoryId), score.categoryId);
+                touched.add(score.categoryId);
+            }
+        } else if (score != null && !score.categoryId.equals(categoryId.get())) {
+            relocate(solutionId, score, categoryId.get(), touched);
+        }
+        if (!touched.isEmpty()) {
+            publish(touched);
+        }
+    }
+
+    private void record(String solutionId, double weight) {
+        DoubleAdder adder = pending.get(solutionId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(solutionId, id -> new DoubleAdder());
+        }
+        adder.add(weight);
+    }
+
+    private TopK category(String categoryId) {
+        return byCategory.computeIfAbsent(categoryId, id -> new TopK(capacity));
+    }
+
+    /**
+     * 把方案从原分类的堆迁到新分类的堆
+     */
+    private void relocate(String solutionId, Score score, String categoryId, Set<String> touched) {
+        String previousId = score.categoryId;
+        score.categoryId = categoryId;
+        TopK previous = category(previousId);
+        if (previous.remove(solutionId)) {
+            refill(previous, previousId);
+        }
+        touched.add(previousId);
+        category(categoryId).offer(solutionId, score.value);
+        touched.add(categoryId);
+    }
+
+    /**
+     * 堆中的方案被移出后，第K名只能从全部得分中重新选出
+     */
+    private void refill(TopK topK, String categoryId) {
+        topK.clear();
+        scores.forEach((solutionId, score) -> {
+            if (categoryId == null || categoryId.equals(score.categoryId)) {
+                topK.offer(solutionId, score.value);
+            }
+        });
+    }
+
+    /**
+     * 把全部得分换算到新的基准时刻；相对顺序不变，只需按新值重建各堆
+     */
+    private void rebase(long now) {
+        double factor = Math.exp(-decayRate * (now - landmark));
+        scores.values().removeIf(score -> (score.value *= factor) < Double.MIN_NORMAL);
+        landmark = now;
+        refill(overall, null);
+        byCategory.clear();
+        scores.forEach((solutionId, score) -> category(score.categoryId).offer(solutionId, score.value));
+        rankings = new Rankings(landmark, List.of(), Map.of());
+        publish(new HashSet<>(byCategory.keySet()));
+        logger.debug("热门排行得分已换算到新的基准时刻，共{}个方案", scores.size());
+    }
+
+    /**
+     * 发布新的排行快照，未受影响的分类沿用上一快照的列表
+     */
+    private void publish(Set<String> touched) {
+        Map<String, List<Ranked>> lists = new HashMap<>(rankings.byCategory());
+        for (String categoryId : touched) {
+            TopK topK = byCategory.get(categoryId);
+            if (topK == null || topK.members.isEmpty()) {
+                lists.remove(categoryId);
+            } else {
+                lists.put(categoryId, topK.sorted());
+            }
+        }
+        rankings = new Rankings(landmark, overall.sorted(), Map.copyOf(lists));
+    }
+}
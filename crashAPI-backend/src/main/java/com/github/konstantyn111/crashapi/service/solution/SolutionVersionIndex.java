@@ -0,0 +1,248 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionFacetsDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
+import com.github.konstantyn111.crashapi.util.search.IntervalTree;
+import com.github.konstantyn111.crashapi.util.solution.VersionRange;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 已发布解决方案的适用版本索引
+ * <p>
+ * 按分类为已发布方案的版本区间各建一棵{@link IntervalTree}，
+ * “某分类下适用于版本X的方案”只需一次点查询，与方案总数成对数关系。
+ * 区间优先取写入时归一化的version_min/version_max，旧数据缺失时按version文本现场解析。
+ * </p>
+ * <p>
+ * 索引为不可变快照，已发布集合变化时在事务提交后整体重建并原子替换。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SolutionVersionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolutionVersionIndex.class);
+
+    /**
+     * 与公共列表一致的排序：更新时间降序，ID降序
+     */
+    private static final Comparator<Entry> LIST_ORDER = Comparator
+            .comparing(Entry::updatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Entry::id, Comparator.reverseOrder());
+
+    private record Entry(String id, String categoryId, String difficulty, LocalDateTime updatedAt) {
+    }
+
+    private record Snapshot(IntervalTree<Entry> all,
+                            Map<String, IntervalTree<Entry>> byCategory,
+                            List<Entry> allEntries,
+                            Map<String, List<Entry>> entriesByCategory,
+                            Map<String, Entry> byId) {
+    }
+
+    private final SolutionMapper solutionMapper;
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * 已提交的变更次数，以及当前快照读取数据库时已包含的变更次数（由对象锁保护）
+     */
+    private final AtomicLong changes = new AtomicLong();
+    private long builtThrough;
+
+    /**
+     * 应用启动后在后台构建索引，失败时留待首次查询重试
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread builder = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                logger.warn("启动时构建解决方案版本索引失败，将在首次查询时重试", ex);
+            }
+        }, "solution-version-index");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 从数据库加载已发布方案的版本区间并重建索引
+     * <p>
+     * 读取期间若有新的变更提交，读到的可能是旧数据，装入后立即再重建一次。
+     * </p>
+     */
+    public synchronized void rebuild() {
+        long seen;
+        do {
+            seen = changes.get();
+            build();
+            builtThrough = seen;
+        } while (changes.get() != seen);
+    }
+
+    private void build() {
+        List<Solution> solutions = solutionMapper.findPublishedVersionRanges();
+        List<IntervalTree.Interval<Entry>> all = new ArrayList<>(solutions.size());
+        Map<String, List<IntervalTree.Interval<Entry>>> grouped = new HashMap<>();
+        Map<String, Entry> byId = new HashMap<>();
+        for (Solution solution : solutions) {
+            VersionRange range = solution.getVersionMin() != null && solution.getVersionMax() != null
+                    ? new VersionRange(solution.getVersionMin(), solution.getVersionMax())
+                    : VersionRange.parse(solution.getVersion());
+            Entry entry = new Entry(solution.getId(), solution.getCategoryId(),
+                    solution.getDifficulty(), solution.getUpdatedAt());
+            IntervalTree.Interval<Entry> interval = new IntervalTree.Interval<>(range.min(), range.max(), entry);
+            all.add(interval);
+            byId.put(entry.id(), entry);
+            grouped.computeIfAbsent(solution.getCategoryId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        Map<String, IntervalTree<Entry>> byCategory = new HashMap<>();
+        Map<String, List<Entry>> entriesByCategory = new HashMap<>();
+        grouped.forEach((categoryId, intervals) -> {
+            byCategory.put(categoryId, new IntervalTree<>(intervals));
+            entriesByCategory.put(categoryId, sortedEntries(intervals));
+        });
+        snapshot = new Snapshot(new IntervalTree<>(all), byCategory, sortedEntries(all), entriesByCategory, byId);
+        logger.info("解决方案版本索引构建完成，共{}个方案，{}个分类", solutions.size(), byCategory.size());
+    }
+
+    /**
+     * 在事务提交后重建索引
+     * <p>
+     * 先登记变更再判断是否已构建：启动构建进行中时由其发现变更并重建，
+     * 尚未构建时首次查询读取的已是最新数据；已被其他重建覆盖的变更不再重复重建。
+     * </p>
+     */
+    public void refresh() {
+        TransactionUtils.afterCommit(() -> {
+            long requested = changes.incrementAndGet();
+            if (snapshot == null) return;
+            try {
+                synchronized (this) {
+                    if (builtThrough < requested) {
+                        rebuild();
+                    }
+                }
+            } catch (Exception ex) {
+                logger.warn("重建解决方案版本索引失败", ex);
+            }
+        });
+    }
+
+    /**
+     * 查询适用的已发布方案
+     *
+     * @param version 编码后的版本（见{@link VersionRange#parsePoint}），为null表示不限版本
+     * @param categoryId 分类ID，为null表示不限分类
+     * @return 按公共列表顺序排列的方案ID
+     */
+    public List<String> find(Integer version, String categoryId) {
+        return find(version, categoryId, null);
+    }
+
+    /**
+     * 查询适用的已发布方案
+     *
+     * @param version 编码后的版本，为null表示不限版本
+     * @param categoryId 分类ID，为null表示不限分类
+     * @param difficulty 难度，为null表示不限难度
+     * @return 按公共列表顺序排列的方案ID
+     */
+    public List<String> find(Integer version, String categoryId, String difficulty) {
+        Snapshot current = ensureBuilt();
+        List<Entry> candidates;
+        if (version == null) {
+            candidates = categoryId == null
+                    ? current.allEntries()
+                    : current.entriesByCategory().getOrDefault(categoryId, Collections.emptyList());
+        } else {
+            IntervalTree<Entry> tree = categoryId == null ? current.all() : current.byCategory().get(categoryId);
+            if (tree == null) {
+                return Collections.emptyList();
+            }
+            candidates = new ArrayList<>();
+            tree.stab(version, interval -> candidates.add(interval.value()));
+            candidates.sort(LIST_ORDER);
+        }
+        return candidates.stream()
+                .filter(entry -> difficulty == null || difficulty.equals(entry.difficulty()))
+                .map(Entry::id)
+                .toList();
+    }
+
+    /**
+     * 已发布方案所属的分类，不访问数据库
+     *
+     * @return 分类ID；方案未发布或索引尚未构建时为空
+     */
+    public Optional<String> categoryOf(String solutionId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.byId().get(solutionId)).map(Entry::categoryId);
+    }
+
+    /**
+     * 统计适用于某版本的已发布方案在各分类、各难度下的数量
+     * <p>
+     * 只遍历包含该版本的区间，分类计数应用已选难度，难度计数应用已选分类。
+     * </p>
+     *
+     * @param version 编码后的版本
+     * @param categoryId 已选的分类，为null表示不限
+     * @param difficulty 已选的难度，为null表示不限
+     */
+    public SolutionFacetsDTO facets(int version, String categoryId, String difficulty) {
+        Map<String, Long> categories = new TreeMap<>();
+        Map<String, Long> difficulties = new TreeMap<>();
+        ensureBuilt().all().stab(version, interval -> {
+            Entry entry = interval.value();
+            if (difficulty == null || difficulty.equals(entry.difficulty())) {
+                categories.merge(entry.categoryId(), 1L, Long::sum);
+            }
+            if (categoryId == null || categoryId.equals(entry.categoryId())) {
+                difficulties.merge(entry.difficulty(), 1L, Long::sum);
+            }
+        });
+        return SolutionFacetsDTO.builder()
+                .categories(categories)
+                .difficulties(difficulties)
+                .build();
+    }
+
+    private Snapshot ensureBuilt() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private static List<Entry> sortedEntries(List<IntervalTree.Interval<Entry>> intervals) {
+        List<Entry> entries = new ArrayList<>(intervals.size());
+        for (IntervalTree.Interval<Entry> interval : intervals) {
+            entries.add(interval.value());
+        }
+        entries.sort(LIST_ORDER);
+        return entries;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 公共解决方案资源的版本戳
+ * <p>
+ * 为已发布列表与单个解决方案详情维护内存中的版本戳（严格递增的毫秒时间），
+ * 用于生成ETag与Last-Modified，条件请求无需访问数据库即可判断是否返回304。
+ * 版本戳随读缓存失效同步推进。分类列表的版本由{@link CategoryRegistry}的快照给出。
+ * </p>
+ * <p>
+ * 进程启动时间作为所有资源的初始版本，重启后客户端会重新获取一次完整内容。
+ * 版本戳仅保存在本实例内存中。
+ * </p>
+ */
+@Component
+public class SolutionVersionStamps {
+
+    private final long baseline = System.currentTimeMillis();
+    private final AtomicLong clock = new AtomicLong(baseline);
+
+    private final AtomicLong publishedList = new AtomicLong(baseline);
+    private final ConcurrentHashMap<String, Long> solutions = new ConcurrentHashMap<>();
+    private volatile long allSolutions = baseline;
+
+    /**
+     * 已发布列表的版本戳
+     */
+    public long publishedList() {
+        return publishedList.get();
+    }
+
+    /**
+     * 指定解决方案详情的版本戳
+     */
+    public long solution(String solutionId) {
+        return Math.max(solutions.getOrDefault(solutionId, baseline), allSolutions);
+    }
+
+    /**
+     * 推进解决方案的版本戳
+     *
+     * @param solutionId 解决方案ID
+     * @param publishedListChanged 是否同时推进已发布列表的版本戳
+     */
+    public void touchSolution(String solutionId, boolean publishedListChanged) {
+        long stamp = next();
+        solutions.put(solutionId, stamp);
+        if (publishedListChanged) {
+            publishedList.set(stamp);
+        }
+    }
+
+    /**
+     * 推进全部解决方案详情与已发布列表的版本戳
+     * <p>
+     * 用于分类名称等被所有解决方案引用的数据发生变化时。
+     * </p>
+     */
+    public void touchAll() {
+        long stamp = next();
+        allSolutions = stamp;
+        publishedList.set(stamp);
+    }
+
+    /**
+     * 构造强ETag
+     *
+     * @param resource 资源名
+     * @param stamp 版本戳
+     * @param variant 影响表示形式的请求参数
+     */
+    public static String etag(String resource, long stamp, Object... variant) {
+        StringBuilder tag = new StringBuilder("\"").append(resource).append('-').append(Long.toString(stamp, 36));
+        for (Object part : variant) {
+            // 变体可能来自请求参数，编码后不会出现引号等ETag中不允许的字符
+            tag.append('-').append(URLEncoder.encode(String.valueOf(part), StandardCharsets.UTF_8));
+        }
+        return tag.append('"').toString();
+    }
+
+    private long next() {
+        long now = System.currentTimeMillis();
+        return clock.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+}
@@ -5,7 +5,11 @@ import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.security.SecurityVersionRegistry;
+import com.github.konstantyn111.crashapi.security.UserSecurityCache;
 import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
 import com.github.konstantyn111.crashapi.util.user.UserUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +27,9 @@ import java.util.Set;
 public class AdminService {
 
     private final UserMapper userMapper;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserSecurityCache userSecurityCache;
+    private final CurrentUser currentUser;
 
     /**
      * 根据用户ID获取用户信息（需要管理员权限）
@@ -31,7 +38,7 @@ public class AdminService {
     @Transactional(readOnly = true)
     public RestResponse<UserInfo> getUserInfoById(Long userId) {
         try {
-            UserUtils.Security.validateAdminPermissions(userMapper);
+            currentUser.requireAdmin();
 
             User user = userMapper.findById(userId)
                     .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
@@ -61,6 +68,10 @@ public class AdminService {
                     null,
                     null
             );
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(userOptional.get().getId());
+                userSecurityCache.invalidate(userOptional.get().getId());
+            });
             return RestResponse.success(null, "令牌已撤销");
         }
         throw new BusinessException(ErrorCode.USER_NOT_FOUND,
@@ -6,10 +6,12 @@ import com.github.konstantyn111.crashapi.dto.user.RefreshRequest;
 import com.github.konstantyn111.crashapi.dto.user.RegisterRequest;
 import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
-import com.github.konstantyn111.crashapi.mapper.user.RoleMapper;
 import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
 import com.github.konstantyn111.crashapi.security.CustomUserDetails;
+import com.github.konstantyn111.crashapi.security.SecurityVersionRegistry;
+import com.github.konstantyn111.crashapi.security.UserSecurityCache;
 import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
@@ -37,10 +39,11 @@ public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     private final UserMapper userMapper;
-    private final RoleMapper roleMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserSecurityCache userSecurityCache;
 
     /**
      * 用户注册认证
@@ -70,7 +73,7 @@ public class AuthService {
             userMapper.save(user);
 
             // 默认给用户绑定 ROLE_USER
-            roleMapper.findByName("ROLE_USER")
+            userSecurityCache.findRole("ROLE_USER")
                     .ifPresent(role -> userMapper.addRoleToUser(user.getId(), role.getId()));
 
             // 查询角色集合
@@ -245,6 +248,10 @@ public class AuthService {
                     null,
                     null
             );
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(userOptional.get().getId());
+                userSecurityCache.invalidate(userOptional.get().getId());
+            });
         } else {
             throw new BusinessException(ErrorCode.USER_NOT_FOUND, HttpStatus.NOT_FOUND, "用户不存在");
         }
@@ -8,9 +8,12 @@ import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import com.github.konstantyn111.crashapi.mapper.user.AdminApplicationMapper;
-import com.github.konstantyn111.crashapi.mapper.user.RoleMapper;
 import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.security.SecurityVersionRegistry;
+import com.github.konstantyn111.crashapi.security.UserSecurityCache;
 import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
 import com.github.konstantyn111.crashapi.util.user.UserUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +37,9 @@ public class DeveloperService {
 
     private final UserMapper userMapper;
     private final AdminApplicationMapper adminApplicationMapper;
-    private final RoleMapper roleMapper;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserSecurityCache userSecurityCache;
+    private final CurrentUser currentUser;
 
     /**
      * 分页获取所有用户信息（需要开发者权限）
@@ -75,7 +80,7 @@ public class DeveloperService {
     @Transactional
     public RestResponse<Void> promoteToAdmin(Long userId) {
         try {
-            User currentDev = UserUtils.Security.validateDeveloperPermissions(userMapper);
+            User currentDev = currentUser.requireDeveloper();
             UserUtils.Validation.validateUserExists(userMapper, userId, "提升权限-");
 
             if (userMapper.hasRole(userId, UserUtils.RoleUtils.ADMIN_ROLE)) {
@@ -84,8 +89,12 @@ public class DeveloperService {
                         "用户已是管理员");
             }
 
-            Role adminRole = UserUtils.RoleUtils.getAdminRole(roleMapper);
+            Role adminRole = UserUtils.RoleUtils.getAdminRole(userSecurityCache);
             userMapper.addRoleToUser(userId, adminRole.getId());
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(userId);
+                userSecurityCache.invalidate(userId);
+            });
 
             return RestResponse.success("用户已成功提升为管理员");
         } catch (BusinessException ex) {
@@ -104,7 +113,7 @@ public class DeveloperService {
     @Transactional
     public RestResponse<Void> revokeAdminRole(Long userId) {
         try {
-            UserUtils.Security.validateDeveloperPermissions(userMapper);
+            currentUser.requireDeveloper();
             UserUtils.Validation.validateUserExists(userMapper, userId, "撤销权限-");
 
             if (!userMapper.hasRole(userId, UserUtils.RoleUtils.ADMIN_ROLE)) {
@@ -113,8 +122,12 @@ public class DeveloperService {
                         "用户不是管理员");
             }
 
-            Role adminRole = UserUtils.RoleUtils.getAdminRole(roleMapper);
+            Role adminRole = UserUtils.RoleUtils.getAdminRole(userSecurityCache);
             userMapper.removeRoleFromUser(userId, adminRole.getId());
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(userId);
+                userSecurityCache.invalidate(userId);
+            });
 
             return RestResponse.success("已成功撤销用户的管理员权限");
         } catch (BusinessException ex) {
@@ -163,7 +176,7 @@ public class DeveloperService {
     @Transactional
     public RestResponse<Void> approveApplication(Long applicationId) {
         try {
-            User currentDev = UserUtils.Security.validateDeveloperPermissions(userMapper);
+            User currentDev = currentUser.requireDeveloper();
 
             AdminApplication application = UserUtils.Validation.validateAdminApplicationStatus(
                     adminApplicationMapper, applicationId, "PENDING");
@@ -178,8 +191,12 @@ public class DeveloperService {
                         "用户已是管理员");
             }
 
-            Role adminRole = UserUtils.RoleUtils.getAdminRole(roleMapper);
+            Role adminRole = UserUtils.RoleUtils.getAdminRole(userSecurityCache);
             userMapper.addRoleToUser(application.getApplicantId(), adminRole.getId());
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(application.getApplicantId());
+                userSecurityCache.invalidate(application.getApplicantId());
+            });
 
             application.setStatus("APPROVED");
             application.setProcessorId(currentDev.getId());
@@ -205,7 +222,7 @@ public class DeveloperService {
     @Transactional
     public RestResponse<Void> rejectApplication(Long applicationId, String feedback) {
         try {
-            User currentDev = UserUtils.Security.validateDeveloperPermissions(userMapper);
+            User currentDev = currentUser.requireDeveloper();
 
             AdminApplication application = UserUtils.Validation.validateAdminApplicationStatus(
                     adminApplicationMapper, applicationId, "PENDING");
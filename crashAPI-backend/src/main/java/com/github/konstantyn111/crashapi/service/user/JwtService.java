@@ -1,5 +1,8 @@
 package com.github.konstantyn111.crashapi.service.user;
 
+import com.github.konstantyn111.crashapi.security.CustomUserDetails;
+import com.github.konstantyn111.crashapi.security.SecurityVersionRegistry;
+import com.github.konstantyn111.crashapi.util.cache.BoundedCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,6 +15,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,9 +34,24 @@ import java.util.function.Function;
 public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+    /** 用户ID声明 */
+    public static final String CLAIM_USER_ID = "uid";
+    /** 角色集合声明 */
+    public static final String CLAIM_ROLES = "roles";
+    /** 安全版本声明 */
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+
     private final SecretKey signingKey;
+    private final JwtParser jwtParser;
     private final long jwtExpiration;
 
+    /**
+     * 已验证声明缓存（键为令牌SHA-256摘要，条目随令牌过期）
+     */
+    private final BoundedCache<String, Claims> verifiedClaimsCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+
     /**
      * 获取刷新令牌有效期（毫秒）
      */
@@ -40,16 +63,66 @@ public class JwtService {
      * @param secretKey BASE64编码的密钥
      * @param jwtExpiration 访问令牌有效期（毫秒）
      * @param jwtRefreshExpiration 刷新令牌有效期（毫秒）
+     * @param claimsCacheSize 已验证声明缓存容量
+     * @param securityVersionRegistry 用户安全版本登记表
      */
     public JwtService(
             @Value("${jwt.secret-key}") String secretKey,
             @Value("${jwt.expiration}") long jwtExpiration,
-            @Value("${jwt.refresh-expiration}") long jwtRefreshExpiration
+            @Value("${jwt.refresh-expiration}") long jwtRefreshExpiration,
+            @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheSize,
+            SecurityVersionRegistry securityVersionRegistry
     ) {
         byte[] keyBytes = Decoders.BASE64.decode(secretKey);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
         this.jwtExpiration = jwtExpiration;
         this.jwtRefreshExpiration = jwtRefreshExpiration;
+        this.verifiedClaimsCache = new BoundedCache<>(claimsCacheSize, jwtExpiration);
+        this.securityVersionRegistry = securityVersionRegistry;
+    }
+
+    /**
+     * 验证令牌并返回其声明
+     * <p>
+     * 每个令牌只做一次签名校验，校验结果按令牌摘要缓存至令牌过期，
+     * 后续请求直接复用已验证的声明。
+     * </p>
+     *
+     * @param token JWT令牌
+     * @return 有效时返回声明，无效或已过期返回null
+     */
+    public Claims verifyToken(String token) {
+        String cacheKey = digest(token);
+        Claims cached = verifiedClaimsCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = extractAllClaims(token);
+            Date expiration = claims.getExpiration();
+            if (expiration == null || expiration.before(new Date())) {
+                return null;
+            }
+            verifiedClaimsCache.putUntil(cacheKey, claims, expiration.getTime());
+            return claims;
+        } catch (SignatureException ex) {
+            logger.error("无效的JWT签名: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            logger.error("无效的JWT令牌: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.debug("JWT令牌已过期: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.error("不支持的JWT令牌: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            logger.error("JWT声明为空: {}", ex.getMessage());
+        } catch (Exception ex) {
+            logger.error("意外的JWT错误: {}", ex.getMessage());
+        }
+        return null;
     }
 
     /**
@@ -74,11 +147,22 @@ public class JwtService {
 
     /**
      * 生成访问令牌
+     * <p>
+     * 对于{@link CustomUserDetails}，令牌中额外携带用户ID、角色集合与安全版本号，
+     * 使认证过滤器无需查询数据库即可重建用户主体。
+     * </p>
      * @param userDetails 用户认证信息
      * @return JWT访问令牌
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails details && details.getUser().getId() != null) {
+            Long userId = details.getUser().getId();
+            claims.put(CLAIM_USER_ID, userId);
+            claims.put(CLAIM_ROLES, new ArrayList<>(details.roleNames()));
+            claims.put(CLAIM_SECURITY_VERSION, securityVersionRegistry.currentVersion(userId));
+        }
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -105,8 +189,9 @@ public class JwtService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && isTokenExpired(token);
+            final Claims claims = extractAllClaims(token);
+            return claims.getSubject().equals(userDetails.getUsername())
+                    && !claims.getExpiration().before(new Date());
         } catch (SignatureException ex) {
             logger.error("无效的JWT签名: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -157,13 +242,24 @@ public class JwtService {
      * @throws JwtException 令牌无效时抛出
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    /**
+     * 计算令牌的SHA-256摘要，作为缓存键避免直接持有原始令牌
+     */
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * 生成刷新令牌
      * @param userDetails 用户认证信息
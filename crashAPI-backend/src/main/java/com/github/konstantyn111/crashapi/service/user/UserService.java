@@ -7,16 +7,18 @@ import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
 import com.github.konstantyn111.crashapi.mapper.user.AdminApplicationMapper;
 import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import com.github.konstantyn111.crashapi.security.SecurityVersionRegistry;
+import com.github.konstantyn111.crashapi.security.UserSecurityCache;
 import com.github.konstantyn111.crashapi.service.solution.FileStorageService;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import com.github.konstantyn111.crashapi.util.RestResponse;
+import com.github.konstantyn111.crashapi.util.TransactionUtils;
 import com.github.konstantyn111.crashapi.util.SecurityValidationUtils;
 import com.github.konstantyn111.crashapi.util.user.UserUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +39,9 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final FileStorageService fileStorageService;
     private final SecurityValidationUtils securityValidatorUtils;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserSecurityCache userSecurityCache;
+    private final CurrentUser currentUser;
 
     /**
      * 提交管理员权限申请
@@ -49,28 +54,22 @@ public class UserService {
             // 安全检查
             String safeReason = securityValidatorUtils.fullSecurityCheck(reason);
 
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
+            Long userId = currentUser.id();
 
-            User currentUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
-
-            if (userMapper.hasRole(currentUser.getId(), "ROLE_ADMIN")) {
+            if (currentUser.hasRole(UserUtils.RoleUtils.ADMIN_ROLE)) {
                 throw new BusinessException(ErrorCode.ALREADY_ADMIN,
                         HttpStatus.BAD_REQUEST,
                         "您已经是管理员");
             }
 
-            if (adminApplicationMapper.hasPendingApplication(currentUser.getId())) {
+            if (adminApplicationMapper.hasPendingApplication(userId)) {
                 throw new BusinessException(ErrorCode.PENDING_APPLICATION_EXISTS,
                         HttpStatus.CONFLICT,
                         "您已提交过申请，请等待处理");
             }
 
             AdminApplication application = new AdminApplication();
-            application.setApplicantId(currentUser.getId());
+            application.setApplicantId(userId);
             application.setStatus("PENDING");
             application.setReason(safeReason);
             application.setCreatedAt(LocalDateTime.now());
@@ -90,26 +89,14 @@ public class UserService {
     @Transactional(readOnly = true)
     public RestResponse<AdminApplicationStatus> getAdminApplicationStatus() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                throw new BusinessException(ErrorCode.UNAUTHORIZED,
-                        HttpStatus.UNAUTHORIZED,
-                        "用户未登录");
-            }
-
-            String username = authentication.getName();
-            User currentUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
-            Optional<AdminApplication> applicationOpt =
-                    adminApplicationMapper.findLatestByUserId(currentUser.getId());
-
-            if (userMapper.hasRole(currentUser.getId(), "ROLE_ADMIN")) {
+            if (currentUser.hasRole(UserUtils.RoleUtils.ADMIN_ROLE)) {
                 throw new BusinessException(ErrorCode.ALREADY_ADMIN,
                         HttpStatus.BAD_REQUEST,
                         "您已经是管理员");
             }
+            Optional<AdminApplication> applicationOpt =
+                    adminApplicationMapper.findLatestByUserId(currentUser.id());
+
             if (applicationOpt.isEmpty()) {
                 return RestResponse.fail(HttpStatus.NOT_FOUND.value(),
                         ErrorCode.APPLICATION_NOT_FOUND,
@@ -145,25 +132,8 @@ public class UserService {
     @Transactional(readOnly = true)
     public RestResponse<UserInfo> getCurrentUserInfo() {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-            if (authentication == null || !authentication.isAuthenticated()) {
-                throw new BusinessException(ErrorCode.UNAUTHORIZED,
-                        HttpStatus.UNAUTHORIZED,
-                        "用户未登录");
-            }
-
-            String username = authentication.getName();
-            Optional<User> userOpt = userMapper.findByUsername(username);
-
-            if (userOpt.isEmpty()) {
-                return RestResponse.fail(HttpStatus.NOT_FOUND.value(),
-                        ErrorCode.USER_NOT_FOUND,
-                        "用户不存在");
-            }
-
-            User user = userOpt.get();
-            Set<String> roles = userMapper.findRolesByUserId(user.getId());
+            User user = currentUser.load();
+            Set<String> roles = currentUser.principal().roleNames();
 
             return RestResponse.success(UserUtils.Convert.toUserInfo(user, roles), "获取用户信息成功");
         } catch (BusinessException ex) {
@@ -183,13 +153,7 @@ public class UserService {
     @Transactional
     public RestResponse<UserInfo> updateUserInfo(UserInfo updateData) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-
-            User existingUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
+            User existingUser = currentUser.load();
 
             if (updateData.getNickname() != null) {
                 existingUser.setNickname(updateData.getNickname());
@@ -202,14 +166,11 @@ public class UserService {
 
             existingUser.setUpdatedAt(LocalDateTime.now());
             userMapper.updateUserInfo(existingUser);
+            TransactionUtils.afterCommit(() -> userSecurityCache.invalidate(existingUser.getId()));
 
-            User updatedUser = userMapper.findById(existingUser.getId())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
-            Set<String> roles = userMapper.findRolesByUserId(updatedUser.getId());
+            Set<String> roles = currentUser.principal().roleNames();
 
-            return RestResponse.success(UserUtils.Convert.toUserInfo(updatedUser, roles), "用户信息更新成功");
+            return RestResponse.success(UserUtils.Convert.toUserInfo(existingUser, roles), "用户信息更新成功");
         } catch (BusinessException ex) {
             return RestResponse.fail(ex);
         } catch (Exception ex) {
@@ -228,13 +189,7 @@ public class UserService {
     @Transactional
     public RestResponse<Void> updatePassword(String oldPassword, String newPassword) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-
-            User existingUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
+            User existingUser = currentUser.load();
 
             if (!passwordEncoder.matches(oldPassword, existingUser.getPassword())) {
                 throw new BusinessException(ErrorCode.INVALID_CREDENTIALS,
@@ -245,6 +200,10 @@ public class UserService {
             existingUser.setPassword(passwordEncoder.encode(newPassword));
             existingUser.setUpdatedAt(LocalDateTime.now());
             userMapper.updateUserInfo(existingUser);
+            TransactionUtils.afterCommit(() -> {
+                securityVersionRegistry.bump(existingUser.getId());
+                userSecurityCache.invalidate(existingUser.getId());
+            });
 
             return RestResponse.success("密码更新成功");
         } catch (BusinessException ex) {
@@ -265,13 +224,7 @@ public class UserService {
     public RestResponse<String> updateAvatar(MultipartFile file) {
         User existingUser = null;
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-
-            existingUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "用户不存在"));
+            existingUser = currentUser.load();
 
             String fileName = "avatar_" + existingUser.getId() + "_" + System.currentTimeMillis();
             String storedFileName = fileStorageService.storeFile(
@@ -287,6 +240,8 @@ public class UserService {
             existingUser.setAvatar(fileUrl);
             existingUser.setUpdatedAt(LocalDateTime.now());
             userMapper.updateUserInfo(existingUser);
+            Long userId = existingUser.getId();
+            TransactionUtils.afterCommit(() -> userSecurityCache.invalidate(userId));
 
             return RestResponse.success(fileUrl, "头像更新成功");
         } catch (BusinessException ex) {
@@ -0,0 +1,185 @@
+package com.github.konstantyn111.crashapi.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 有界本地缓存
+ * <p>
+ * 基于访问顺序的LRU淘汰策略，容量超限时淘汰最久未访问的条目；
+ * 每个条目可单独指定过期时间，过期条目在读取时惰性清除。
+ * 同时记录命中、未命中与淘汰次数，便于监控。
+ * </p>
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long defaultTtlMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxSize 最大条目数
+     * @param defaultTtlMillis 默认存活时间（毫秒），小于等于0表示不过期
+     */
+    public BoundedCache(int maxSize, long defaultTtlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存值，不存在或已过期时返回null
+     */
+    public V get(K key) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(now)) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 使用默认存活时间写入缓存
+     */
+    public void put(K key, V value) {
+        long expiresAt = defaultTtlMillis > 0 ? System.currentTimeMillis() + defaultTtlMillis : Long.MAX_VALUE;
+        putUntil(key, value, expiresAt);
+    }
+
+    /**
+     * 写入缓存并指定绝对过期时间
+     *
+     * @param expiresAtMillis 过期时间点（epoch毫秒）
+     */
+    public void putUntil(K key, V value, long expiresAtMillis) {
+        if (value == null) return;
+        lock.lock();
+        try {
+            entries.put(key, new Entry<>(value, expiresAtMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 键不存在或已过期时使用默认存活时间写入
+     *
+     * @return 是否写入
+     */
+    public boolean putIfAbsent(K key, V value) {
+        if (value == null) return false;
+        long now = System.currentTimeMillis();
+        long expiresAt = defaultTtlMillis > 0 ? now + defaultTtlMillis : Long.MAX_VALUE;
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired(now)) {
+                return false;
+            }
+            entries.put(key, new Entry<>(value, expiresAt));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 移除指定键
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 移除所有满足条件的键
+     */
+    public void invalidateIf(Predicate<K> predicate) {
+        lock.lock();
+        try {
+            entries.keySet().removeIf(predicate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.github.konstantyn111.crashapi.util.crash;
+
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO;
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO.ExceptionInfo;
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO.ModInfo;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minecraft崩溃报告 / latest.log 流式解析器
+ * <p>
+ * 按块读取输入并逐行处理，不保留原始文本。单行超出长度上限的部分直接丢弃，
+ * 各列表与映射均有条目上限，内存占用与输入大小无关。
+ * </p>
+ * <p>
+ * 解析器保存单次解析的状态，非线程安全，每次解析创建新实例。
+ * </p>
+ */
+public class CrashReportParser {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_LINE_LENGTH = 2048;
+    private static final int MAX_CAUSES = 16;
+    private static final int MAX_FRAMES = 16;
+    private static final int MAX_MODS = 1024;
+    private static final int MAX_SECTION_ENTRIES = 128;
+
+    private static final Pattern EXCEPTION_LINE = Pattern.compile(
+            "^(?:Caused by: |Exception in thread \"[^\"]*\" )?((?:[\\w$]+\\.)+[\\w$]*(?:Exception|Error|Throwable)[\\w$]*)(?::\\s*(.*))?$");
+    private static final Pattern LOG_MINECRAFT_VERSION = Pattern.compile(
+            "(?:Loading Minecraft|Minecraft Version:?|minecraft server version) ([0-9][\\w.\\-]*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOG_JAVA_VERSION = Pattern.compile(
+            "Java(?: is [^,]+,)? version:? ?([0-9][\\w.\\-+]*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FABRIC_MOD = Pattern.compile("^([a-z0-9_\\-.]+): .* (\\S+)$");
+
+    private enum Section {HEADER, AFFECTED_LEVEL, SYSTEM_DETAILS, OTHER}
+
+    private final long maxChars;
+    private final CrashReportDTO report = new CrashReportDTO();
+    private final StringBuilder line = new StringBuilder(256);
+
+    private Section section = Section.HEADER;
+    // 当前所在的多行列表（Mod List / Fabric Mods 等），null表示不在列表中
+    private String listKey;
+    // 主异常的Caused by链是否结束
+    private boolean chainClosed;
+    private boolean lineOverflow;
+
+    /**
+     * @param maxChars 最多读取的字符数，超出部分不再解析
+     */
+    public CrashReportParser(long maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * 解析崩溃报告
+     *
+     * @param reader 日志内容，调用方负责关闭
+     * @return 结构化摘要
+     * @throws IOException 读取输入失败时抛出
+     */
+    public CrashReportDTO parse(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        long remaining = maxChars;
+        int read;
+        boolean afterCarriageReturn = false;
+        while (remaining > 0 && (read = reader.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+            remaining -= read;
+            report.setCharsRead(report.getCharsRead() + read);
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n') {
+                    if (!afterCarriageReturn) endLine();
+                    afterCarriageReturn = false;
+                } else if (c == '\r') {
+                    endLine();
+                    afterCarriageReturn = true;
+                } else {
+                    afterCarriageReturn = false;
+                    append(c);
+                }
+            }
+        }
+        if (remaining <= 0 && reader.read() != -1) {
+            report.setTruncated(true);
+        }
+        if (!line.isEmpty()) {
+            endLine();
+        }
+        report.setFingerprint(StackTraceFingerprint.of(report));
+        return report;
+    }
+
+    private void append(char c) {
+        if (line.length() < MAX_LINE_LENGTH) {
+            line.append(c);
+        } else {
+            lineOverflow = true;
+        }
+    }
+
+    private void endLine() {
+        String raw = line.toString();
+        line.setLength(0);
+        if (lineOverflow) {
+            report.setTruncated(true);
+            lineOverflow = false;
+        }
+        processLine(raw);
+    }
+
+    private void processLine(String raw) {
+        String trimmed = raw.strip();
+
+        if (trimmed.startsWith("-- ") && trimmed.endsWith(" --") && trimmed.length() > 6) {
+            String title = trimmed.substring(3, trimmed.length() - 3).trim().toLowerCase(Locale.ROOT);
+            section = switch (title) {
+                case "affected level" -> Section.AFFECTED_LEVEL;
+                case "system details" -> Section.SYSTEM_DETAILS;
+                default -> Section.OTHER;
+            };
+            listKey = null;
+            chainClosed = true;
+            return;
+        }
+
+        if (section == Section.AFFECTED_LEVEL || section == Section.SYSTEM_DETAILS) {
+            processDetailLine(raw, trimmed);
+            return;
+        }
+
+        if (report.getDescription() == null && trimmed.startsWith("Description:")) {
+            report.setDescription(trimmed.substring("Description:".length()).trim());
+            return;
+        }
+
+        processExceptionLine(trimmed);
+        if (section == Section.HEADER) {
+            detectLogVersions(trimmed);
+        }
+    }
+
+    private void processExceptionLine(String trimmed) {
+        if (chainClosed || trimmed.isEmpty() || trimmed.startsWith("...")) {
+            return;
+        }
+        if (trimmed.startsWith("at ")) {
+            if (report.getException() != null && report.getStackFrames().size() < MAX_FRAMES) {
+                report.getStackFrames().add(trimmed.substring(3));
+            }
+            return;
+        }
+        boolean cause = trimmed.startsWith("Caused by: ");
+        if (!cause && report.getException() != null) {
+            // 主异常之后出现非堆栈行，说明异常链已经结束
+            if (!trimmed.startsWith("Suppressed: ")) {
+                chainClosed = true;
+            }
+            return;
+        }
+        Matcher matcher = EXCEPTION_LINE.matcher(trimmed);
+        if (!matcher.matches()) return;
+        ExceptionInfo info = new ExceptionInfo(matcher.group(1), matcher.group(2));
+        if (report.getException() == null) {
+            report.setException(info);
+        } else if (report.getCauses().size() < MAX_CAUSES) {
+            report.getCauses().add(info);
+            // 只保留链上最深一层异常的堆栈，根因最能区分崩溃
+            report.getStackFrames().clear();
+        }
+    }
+
+    /**
+     * 处理详情区的行：单层缩进为“键: 值”，双层缩进为上一个键下的列表项
+     */
+    private void processDetailLine(String raw, String trimmed) {
+        if (trimmed.isEmpty() || trimmed.equals("Details:")) {
+            return;
+        }
+        if (raw.startsWith("\t\t") || raw.startsWith("        ")) {
+            if (listKey != null) {
+                processListItem(trimmed);
+            }
+            return;
+        }
+
+        int colon = trimmed.indexOf(':');
+        if (colon <= 0) {
+            listKey = null;
+            return;
+        }
+        String key = trimmed.substring(0, colon).trim();
+        String value = trimmed.substring(colon + 1).trim();
+        listKey = value.isEmpty() ? key : null;
+
+        if (section == Section.AFFECTED_LEVEL) {
+            putBounded(report.getAffectedLevel(), key, value);
+            return;
+        }
+        if (!value.isEmpty()) {
+            putBounded(report.getSystemDetails(), key, value);
+        }
+        switch (key) {
+            case "Minecraft Version" -> report.setMinecraftVersion(value);
+            case "Java Version" -> report.setJavaVersion(firstToken(value));
+            case "ModLauncher launch target", "Launched Version", "Is Modded" -> detectLoader(value);
+            case "Fabric Mods" -> setLoaderIfAbsent("fabric");
+            case "Quilt Mods" -> setLoaderIfAbsent("quilt");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * 解析模组列表项，支持Forge/NeoForge的表格格式与Fabric/Quilt的“id: 名称 版本”格式
+     */
+    private void processListItem(String item) {
+        if (report.getMods().size() >= MAX_MODS) return;
+        switch (listKey) {
+            case "Mod List" -> {
+                String[] columns = item.split("\\|");
+                if (columns.length >= 4) {
+                    String id = columns[2].trim();
+                    if (!id.isEmpty() && !id.equals("Mod ID") && !id.equals("minecraft")) {
+                        report.getMods().add(new ModInfo(id, columns[3].trim()));
+                    }
+                }
+            }
+            case "Fabric Mods", "Quilt Mods" -> {
+                Matcher matcher = FABRIC_MOD.matcher(item);
+                if (matcher.matches()) {
+                    report.getMods().add(new ModInfo(matcher.group(1), matcher.group(2)));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void detectLogVersions(String trimmed) {
+        if (report.getMinecraftVersion() == null) {
+            Matcher matcher = LOG_MINECRAFT_VERSION.matcher(trimmed);
+            if (matcher.find()) {
+                report.setMinecraftVersion(matcher.group(1));
+            }
+        }
+        if (report.getJavaVersion() == null) {
+            Matcher matcher = LOG_JAVA_VERSION.matcher(trimmed);
+            if (matcher.find()) {
+                report.setJavaVersion(matcher.group(1));
+            }
+        }
+        if (report.getModLoader() == null) {
+            detectLoader(trimmed);
+        }
+    }
+
+    private void detectLoader(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        if (lower.contains("neoforge")) {
+            setLoaderIfAbsent("neoforge");
+        } else if (lower.contains("forge") || lower.contains("fml")) {
+            setLoaderIfAbsent("forge");
+        } else if (lower.contains("quilt")) {
+            setLoaderIfAbsent("quilt");
+        } else if (lower.contains("fabric")) {
+            setLoaderIfAbsent("fabric");
+        }
+    }
+
+    private void setLoaderIfAbsent(String loader) {
+        if (report.getModLoader() == null) {
+            report.setModLoader(loader);
+        }
+    }
+
+    private static void putBounded(Map<String, String> target, String key, String value) {
+        if (target.size() < MAX_SECTION_ENTRIES || target.containsKey(key)) {
+            target.put(key, value);
+        }
+    }
+
+    private static String firstToken(String value) {
+        int comma = value.indexOf(',');
+        return (comma >= 0 ? value.substring(0, comma) : value).trim();
+    }
+}
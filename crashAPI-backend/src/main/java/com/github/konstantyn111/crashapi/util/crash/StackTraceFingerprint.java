@@ -0,0 +1,115 @@
+package com.github.konstantyn111.crashapi.util.crash;
+
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 崩溃堆栈指纹
+ * <p>
+ * 对根因异常的栈帧做归一化：去掉行号与所在jar、模块前缀，
+ * 把lambda编号、匿名类编号、Mixin处理器前缀以及SRG/Intermediary混淆名替换为固定占位，
+ * 跳过反射调用帧，再取前若干帧与异常类型一起做SHA-256。
+ * 同一根因在不同版本、不同映射下产生的日志得到相同指纹。
+ * </p>
+ */
+public final class StackTraceFingerprint {
+
+    /**
+     * 参与指纹计算的栈帧数
+     */
+    public static final int TOP_FRAMES = 5;
+
+    private static final Pattern LOCATION = Pattern.compile("\\(.*$");
+    // 类加载器/模块@版本/，模块名可为空（如app//）
+    private static final Pattern MODULE_PREFIX = Pattern.compile("^(?:[\\w.\\-]*(?:@[\\w.\\-+]+)?/)+");
+    private static final Pattern LAMBDA_CLASS = Pattern.compile("\\$\\$Lambda(?:\\$\\d+)?(?:/0x[0-9a-f]+)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LAMBDA_METHOD = Pattern.compile("(lambda\\$[\\w]*?)\\$\\d+");
+    private static final Pattern ANONYMOUS_CLASS = Pattern.compile("\\$\\d+");
+    private static final Pattern MIXIN_HANDLER = Pattern.compile("\\b(handler|redirect|modify\\w*|wrap\\w*)\\$[0-9a-z]{6}\\$");
+    private static final Pattern SRG_NAME = Pattern.compile("\\b(m|f|p|func|field)_\\d+_[a-zA-Z]?_?");
+    private static final Pattern INTERMEDIARY_NAME = Pattern.compile("\\b(class|method|field|comp)_\\d+");
+
+    private StackTraceFingerprint() {
+    }
+
+    /**
+     * 计算崩溃报告的指纹
+     *
+     * @param report 解析后的崩溃报告
+     * @return 64位十六进制指纹，没有识别到异常时返回null
+     */
+    public static String of(CrashReportDTO report) {
+        if (report.getException() == null) {
+            return null;
+        }
+        List<CrashReportDTO.ExceptionInfo> causes = report.getCauses();
+        String rootType = causes.isEmpty()
+                ? report.getException().getType()
+                : causes.get(causes.size() - 1).getType();
+        return of(rootType, report.getStackFrames());
+    }
+
+    /**
+     * 计算异常类型与栈帧的指纹
+     *
+     * @param exceptionType 根因异常类型
+     * @param frames 栈帧原文，自顶向下
+     * @return 64位十六进制指纹
+     */
+    public static String of(String exceptionType, List<String> frames) {
+        StringBuilder canonical = new StringBuilder(exceptionType);
+        int used = 0;
+        for (String frame : frames) {
+            if (used >= TOP_FRAMES) break;
+            String normalized = normalizeFrame(frame);
+            if (normalized.isEmpty() || isReflection(normalized)) continue;
+            canonical.append('\n').append(normalized);
+            used++;
+        }
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * 归一化单个栈帧
+     *
+     * @param frame 栈帧原文，可带前缀“at ”
+     * @return 只含类名与方法名的归一化栈帧
+     */
+    public static String normalizeFrame(String frame) {
+        String text = frame.strip();
+        if (text.startsWith("at ")) {
+            text = text.substring(3);
+        }
+        text = LOCATION.matcher(text).replaceFirst("");
+        text = MODULE_PREFIX.matcher(text).replaceFirst("");
+        text = LAMBDA_CLASS.matcher(text).replaceAll("\\$\\$Lambda");
+        text = LAMBDA_METHOD.matcher(text).replaceAll("$1");
+        text = MIXIN_HANDLER.matcher(text).replaceAll("$1\\$");
+        text = ANONYMOUS_CLASS.matcher(text).replaceAll("\\$");
+        text = SRG_NAME.matcher(text).replaceAll("$1_");
+        text = INTERMEDIARY_NAME.matcher(text).replaceAll("$1_");
+        return text.strip();
+    }
+
+    private static boolean isReflection(String frame) {
+        return frame.startsWith("jdk.internal.reflect.")
+                || frame.startsWith("sun.reflect.")
+                || frame.startsWith("java.lang.reflect.")
+                || frame.startsWith("java.lang.invoke.");
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
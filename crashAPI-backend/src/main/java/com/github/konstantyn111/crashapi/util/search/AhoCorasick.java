@@ -0,0 +1,195 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick多模式匹配自动机（忽略大小写）
+ * <p>
+ * 构建后不可变，可被多个线程共享。扫描按字符逐个推进，
+ * 总耗时与输入长度加匹配次数成线性关系，与模式数量无关；
+ * 扫描状态保存在{@link Scanner}中，可分块输入流式文本。
+ * </p>
+ */
+public class AhoCorasick {
+
+    // 每个节点的子节点按字符升序存放，二分查找转移
+    private final char[][] childChars;
+    private final int[][] childNodes;
+    private final int[] failure;
+    // 沿失败链能到达的最近一个有输出的节点，-1表示没有
+    private final int[] outputLink;
+    private final int[][] outputs;
+    private final int patternCount;
+
+    private AhoCorasick(char[][] childChars, int[][] childNodes, int[] failure,
+                        int[] outputLink, int[][] outputs, int patternCount) {
+        this.childChars = childChars;
+        this.childNodes = childNodes;
+        this.failure = failure;
+        this.outputLink = outputLink;
+        this.outputs = outputs;
+        this.patternCount = patternCount;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    public Scanner scanner() {
+        return new Scanner();
+    }
+
+    /**
+     * 扫描完整文本
+     *
+     * @param text 文本
+     * @param onMatch 每次命中时回调模式ID
+     */
+    public void scan(CharSequence text, IntConsumer onMatch) {
+        Scanner scanner = scanner();
+        for (int i = 0; i < text.length(); i++) {
+            scanner.feed(text.charAt(i), onMatch);
+        }
+    }
+
+    private int next(int node, char c) {
+        while (true) {
+            int child = child(node, c);
+            if (child >= 0) return child;
+            if (node == 0) return 0;
+            node = failure[node];
+        }
+    }
+
+    private int child(int node, char c) {
+        int index = Arrays.binarySearch(childChars[node], c);
+        return index >= 0 ? childNodes[node][index] : -1;
+    }
+
+    private static char normalize(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * 扫描状态，非线程安全，每次扫描使用独立实例
+     */
+    public class Scanner {
+        private int state;
+
+        /**
+         * 输入一个字符
+         *
+         * @param c 字符
+         * @param onMatch 每次命中时回调模式ID
+         */
+        public void feed(char c, IntConsumer onMatch) {
+            state = next(state, normalize(c));
+            int node = outputs[state].length > 0 ? state : outputLink[state];
+            while (node > 0) {
+                for (int patternId : outputs[node]) {
+                    onMatch.accept(patternId);
+                }
+                node = outputLink[node];
+            }
+        }
+
+        /**
+         * 输入一段字符
+         */
+        public void feed(char[] buffer, int offset, int length, IntConsumer onMatch) {
+            for (int i = offset; i < offset + length; i++) {
+                feed(buffer[i], onMatch);
+            }
+        }
+    }
+
+    /**
+     * 自动机构建器
+     */
+    public static class Builder {
+        private final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        private final List<List<Integer>> nodeOutputs = new ArrayList<>();
+        private int patternCount;
+
+        private Builder() {
+            newNode();
+        }
+
+        /**
+         * 添加模式
+         *
+         * @param pattern 模式文本，空串忽略
+         * @param patternId 模式ID，命中时回调
+         */
+        public Builder add(String pattern, int patternId) {
+            if (pattern == null || pattern.isEmpty()) return this;
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = normalize(pattern.charAt(i));
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = newNode();
+                    children.get(node).put(c, child);
+                }
+                node = child;
+            }
+            nodeOutputs.get(node).add(patternId);
+            patternCount++;
+            return this;
+        }
+
+        public AhoCorasick build() {
+            int size = children.size();
+            char[][] childChars = new char[size][];
+            int[][] childNodes = new int[size][];
+            int[][] outputs = new int[size][];
+            for (int node = 0; node < size; node++) {
+                TreeMap<Character, Integer> map = children.get(node);
+                childChars[node] = new char[map.size()];
+                childNodes[node] = new int[map.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> entry : map.entrySet()) {
+                    childChars[node][i] = entry.getKey();
+                    childNodes[node][i] = entry.getValue();
+                    i++;
+                }
+                outputs[node] = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+            }
+
+            int[] failure = new int[size];
+            int[] outputLink = new int[size];
+            Arrays.fill(outputLink, -1);
+            AhoCorasick automaton = new AhoCorasick(childChars, childNodes, failure, outputLink, outputs, patternCount);
+
+            // 广度优先计算失败链接，父节点总是先于子节点处理
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int child : childNodes[0]) {
+                failure[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int i = 0; i < childChars[node].length; i++) {
+                    char c = childChars[node][i];
+                    int child = childNodes[node][i];
+                    failure[child] = automaton.next(failure[node], c);
+                    int fail = failure[child];
+                    outputLink[child] = outputs[fail].length > 0 ? fail : outputLink[fail];
+                    queue.add(child);
+                }
+            }
+            return automaton;
+        }
+
+        private int newNode() {
+            children.add(new TreeMap<>());
+            nodeOutputs.add(new ArrayList<>());
+            return children.size() - 1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 面向中文的分词器
+ * <p>
+ * 连续的中日韩字符按二元组（bigram）切分，单个字符的片段保留为一元词；
+ * 字母与数字组成的片段整体作为一个词并转为小写，其余字符视为分隔符。
+ * 无需词典即可匹配任意中文子串，也能处理异常类名、模组ID等英文标识。
+ * </p>
+ */
+public class CjkTokenizer {
+
+    private CjkTokenizer() {
+    }
+
+    /**
+     * 对文本分词
+     *
+     * @param text 文本，可为null
+     * @return 词列表（保留重复项，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                flushWord(word, tokens);
+                cjk.appendCodePoint(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushCjk(cjk, tokens);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, tokens);
+            }
+            i += Character.charCount(codePoint);
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, tokens);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.isEmpty()) return;
+        tokens.add(word.toString().toLowerCase(Locale.ROOT));
+        word.setLength(0);
+    }
+
+    private static void flushCjk(StringBuilder run, List<String> tokens) {
+        if (run.isEmpty()) return;
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(new String(codePoints, 0, 1));
+        } else {
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+        }
+        run.setLength(0);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 整数闭区间的中心区间树
+ * <p>
+ * 构建后不可变，可被多个线程共享。每个节点保存跨过中心点的区间，
+ * 分别按左端点升序与右端点降序排列；点查询沿一条根到叶的路径下降，
+ * 在每个节点只扫描确实包含查询点的区间，耗时O(log n + k)。
+ * </p>
+ *
+ * @param <T> 区间携带的值
+ */
+public class IntervalTree<T> {
+
+    /**
+     * 区间及其值
+     */
+    public record Interval<T>(int min, int max, T value) {
+    }
+
+    private static final class Node<T> {
+        final int center;
+        final List<Interval<T>> byMin;
+        final List<Interval<T>> byMaxDesc;
+        final Node<T> left;
+        final Node<T> right;
+
+        Node(int center, List<Interval<T>> byMin, List<Interval<T>> byMaxDesc, Node<T> left, Node<T> right) {
+            this.center = center;
+            this.byMin = byMin;
+            this.byMaxDesc = byMaxDesc;
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private final Node<T> root;
+    private final int size;
+
+    public IntervalTree(List<Interval<T>> intervals) {
+        this.size = intervals.size();
+        this.root = build(intervals);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 查询包含某点的全部区间
+     *
+     * @param point 查询点
+     * @param onMatch 每个包含该点的区间回调一次
+     */
+    public void stab(int point, Consumer<Interval<T>> onMatch) {
+        Node<T> node = root;
+        while (node != null) {
+            if (point < node.center) {
+                for (Interval<T> interval : node.byMin) {
+                    if (interval.min() > point) break;
+                    onMatch.accept(interval);
+                }
+                node = node.left;
+            } else if (point > node.center) {
+                for (Interval<T> interval : node.byMaxDesc) {
+                    if (interval.max() < point) break;
+                    onMatch.accept(interval);
+                }
+                node = node.right;
+            } else {
+                for (Interval<T> interval : node.byMin) {
+                    onMatch.accept(interval);
+                }
+                return;
+            }
+        }
+    }
+
+    private static <T> Node<T> build(List<Interval<T>> intervals) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        // 以全部端点的中位数作为中心，保证左右子树各不超过一半
+        int[] endpoints = new int[intervals.size() * 2];
+        for (int i = 0; i < intervals.size(); i++) {
+            endpoints[2 * i] = intervals.get(i).min();
+            endpoints[2 * i + 1] = intervals.get(i).max();
+        }
+        Arrays.sort(endpoints);
+        int center = endpoints[endpoints.length / 2];
+
+        List<Interval<T>> left = new ArrayList<>();
+        List<Interval<T>> right = new ArrayList<>();
+        List<Interval<T>> overlapping = new ArrayList<>();
+        for (Interval<T> interval : intervals) {
+            if (interval.max() < center) {
+                left.add(interval);
+            } else if (interval.min() > center) {
+                right.add(interval);
+            } else {
+                overlapping.add(interval);
+            }
+        }
+
+        List<Interval<T>> byMin = new ArrayList<>(overlapping);
+        byMin.sort(Comparator.comparingInt(Interval::min));
+        List<Interval<T>> byMaxDesc = new ArrayList<>(overlapping);
+        byMaxDesc.sort(Comparator.comparingInt((Interval<T> interval) -> interval.max()).reversed());
+        return new Node<>(center, byMin, byMaxDesc, build(left), build(right));
+    }
+}
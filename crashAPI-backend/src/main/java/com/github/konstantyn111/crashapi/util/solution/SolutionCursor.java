@@ -0,0 +1,67 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 解决方案列表游标
+ * <p>
+ * 由排序键(updated_at, id)组成，对外编码为不透明的Base64URL字符串。
+ * 列表按updated_at DESC, id DESC排序，下一页从游标之后继续查找，
+ * 避免LIMIT ... OFFSET在深分页时扫描并丢弃大量记录。
+ * </p>
+ *
+ * @param updatedAt 上一页最后一条记录的更新时间
+ * @param id 上一页最后一条记录的ID
+ */
+public record SolutionCursor(LocalDateTime updatedAt, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 以解决方案的排序键构建游标
+     */
+    public static SolutionCursor of(Solution solution) {
+        return new SolutionCursor(solution.getUpdatedAt(), solution.getId());
+    }
+
+    /**
+     * 编码为不透明字符串
+     */
+    public String encode() {
+        String raw = updatedAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 客户端回传的游标，为空表示第一页
+     * @return 游标，第一页返回null
+     * @throws BusinessException 游标格式无效时抛出
+     */
+    public static SolutionCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.indexOf(SEPARATOR);
+            if (split <= 0 || split == raw.length() - 1) {
+                throw new IllegalArgumentException("missing separator");
+            }
+            return new SolutionCursor(LocalDateTime.parse(raw.substring(0, split)), raw.substring(split + 1));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER,
+                    HttpStatus.BAD_REQUEST, "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 解决方案ID生成器
+ * <p>
+ * Snowflake布局的64位ID：41位毫秒时间（自2024-01-01起，约69年）| 10位节点号 | 12位序列号，
+ * 编码为“s” + 13位定长Crockford Base32，字符串按字典序与生成顺序一致。
+ * 新ID总是大于本节点此前生成的ID，插入只追加在主键B+树的末端，不会造成页分裂。
+ * </p>
+ * <p>
+ * 旧版ID为“s” + 13位毫秒时间戳 + 随机数，首位是数字。13位Base32共65位，
+ * 编码时置位最高的第65位，使首位落在“G”到“Z”之间，新ID因此总是排在全部旧ID之后。
+ * </p>
+ * <p>
+ * 时间与序列号打包在一个{@link AtomicLong}中以CAS推进，无锁。同一毫秒内序列号用尽，
+ * 或系统时钟回拨时，继续在上一个值上递增（借用后续毫秒），保证单调且不阻塞；
+ * 时钟追上后自动恢复为当前时间。多实例部署时每个实例须配置不同的节点号。
+ * </p>
+ */
+@Component
+public class SolutionIdGenerator {
+
+    public static final long EPOCH = 1_704_067_200_000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * 首位字符的第65位，64位ID的最高4位之上
+     */
+    private static final int LEADING_MARKER = 16;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+
+    /**
+     * 上一个ID的 时间 << SEQUENCE_BITS | 序列号
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SolutionIdGenerator(@Value("${solution.id.node:0}") int node) {
+        this(node, System::currentTimeMillis);
+    }
+
+    SolutionIdGenerator(int node, LongSupplier clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("节点号必须在0到" + MAX_NODE + "之间: " + node);
+        }
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * 生成下一个ID
+     */
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    /**
+     * 生成下一个64位ID
+     */
+    public long nextLong() {
+        long next;
+        while (true) {
+            long previous = state.get();
+            long now = clock.getAsLong() - EPOCH;
+            next = now > (previous >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                break;
+            }
+        }
+        long timestamp = next >>> SEQUENCE_BITS;
+        return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * 编码为“s” + 13位定长Base32，首位带排在旧版数字ID之后的标记位
+     */
+    static String encode(long id) {
+        char[] chars = new char[ENCODED_LENGTH + 1];
+        chars[0] = 's';
+        for (int i = ENCODED_LENGTH; i > 1; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        chars[1] = ALPHABET[LEADING_MARKER | (int) id];
+        return new String(chars);
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.konstantyn111.crashapi.util.solution;
 
+import com.github.konstantyn111.crashapi.dto.crash.CrashClusterDTO;
 import com.github.konstantyn111.crashapi.dto.solution.*;
 import com.github.konstantyn111.crashapi.entity.solution.*;
 import com.github.konstantyn111.crashapi.entity.user.User;
@@ -50,13 +51,51 @@ public class SolutionMapperUtil {
                 .build();
     }
 
-    public static Solution toSolutionEntity(SolutionCreateDTO dto, User admin) {
+    public static SolutionSummaryDTO toSolutionSummaryDTO(Solution solution) {
+        if (solution == null) {
+            log.error("数据实体为空");
+            return null;
+        }
+        return SolutionSummaryDTO.builder()
+                .id(solution.getId())
+                .title(solution.getTitle())
+                .categoryId(solution.getCategoryId())
+                .categoryName(solution.getCategory() != null ? solution.getCategory().getName() : null)
+                .difficulty(solution.getDifficulty())
+                .version(solution.getVersion())
+                .updateTime(solution.getUpdatedAt())
+                .createdByUsername(solution.getCreatedByUser() != null ? solution.getCreatedByUser().getUsername() : null)
+                .build();
+    }
+
+    public static CrashClusterDTO toCrashClusterDTO(CrashCluster cluster) {
+        if (cluster == null) {
+            log.error("数据实体为空");
+            return null;
+        }
+        return CrashClusterDTO.builder()
+                .fingerprint(cluster.getFingerprint())
+                .exceptionType(cluster.getExceptionType())
+                .topFrame(cluster.getTopFrame())
+                .sampleDescription(cluster.getSampleDescription())
+                .occurrences(cluster.getOccurrences() != null ? cluster.getOccurrences() : 0L)
+                .firstSeen(cluster.getFirstSeen())
+                .lastSeen(cluster.getLastSeen())
+                .solutionId(cluster.getSolutionId())
+                .solutionTitle(cluster.getSolutionTitle())
+                .build();
+    }
+
+    public static Solution toSolutionEntity(String id, SolutionCreateDTO dto, User admin) {
+        VersionRange versionRange = VersionRange.parse(dto.getVersion());
         return Solution.builder()
-                .id(SolutionUtils.generateId())
+                .id(id)
                 .categoryId(dto.getCategoryId())
                 .title(dto.getTitle())
                 .difficulty(dto.getDifficulty())
                 .version(dto.getVersion())
+                .versionMin(versionRange.min())
+                .versionMax(versionRange.max())
                 .description(dto.getDescription())
                 .notes(dto.getNotes())
                 .status(SolutionUtils.DRAFT)
@@ -13,8 +13,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 解决方案操作工具类
@@ -26,12 +36,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SolutionOperations {
 
+    /**
+     * 单条批量语句包含的最大行数
+     */
+    static final int BATCH_SIZE = 200;
+
     private final FileStorageService fileStorageService;
 
     /**
      * 为解决方案添加步骤
      * <p>
-     * 将步骤内容按顺序插入数据库，自动生成步骤序号。
+     * 步骤按顺序生成序号后以多行INSERT批量写入，每{@value #BATCH_SIZE}行一条语句，
+     * 写入耗时不随步骤数线性增长。
      * </p>
      *
      * @param solutionId 解决方案ID
@@ -41,19 +57,21 @@ public class SolutionOperations {
     public void addSteps(String solutionId, List<String> steps, SolutionStepMapper mapper) {
         if (steps == null || steps.isEmpty()) return;
 
+        List<SolutionStep> rows = new ArrayList<>(steps.size());
         for (int i = 0; i < steps.size(); i++) {
             SolutionStep step = new SolutionStep();
             step.setSolutionId(solutionId);
             step.setStepOrder(i + 1);
             step.setContent(steps.get(i));
-            mapper.insert(step);
+            rows.add(step);
         }
+        inBatches(rows, mapper::batchInsert);
     }
 
     /**
      * 为解决方案添加图片
      * <p>
-     * 将图片URL按顺序插入数据库，自动生成图片序号。
+     * 图片URL按顺序生成序号后以多行INSERT批量写入。
      * </p>
      *
      * @param solutionId 解决方案ID
@@ -63,13 +81,15 @@ public class SolutionOperations {
     public void addImages(String solutionId, List<String> imageUrls, SolutionImageMapper mapper) {
         if (imageUrls == null || imageUrls.isEmpty()) return;
 
+        List<SolutionImage> rows = new ArrayList<>(imageUrls.size());
         for (int i = 0; i < imageUrls.size(); i++) {
             SolutionImage image = new SolutionImage();
             image.setSolutionId(solutionId);
             image.setImageOrder(i + 1);
             image.setImageUrl(imageUrls.get(i));
-            mapper.insert(image);
+            rows.add(image);
         }
+        inBatches(rows, mapper::batchInsert);
     }
 
     /**
@@ -96,8 +116,7 @@ public class SolutionOperations {
      * 处理解决方案基本信息和关联数据更新，包括：
      * 1. 合并现有图片URL和新上传图片
      * 2. 更新解决方案基本信息
-     * 3. 删除原有步骤和图片记录
-     * 4. 添加新步骤和图片记录
+     * 3. 按序号与已存储的步骤和图片逐行比对，只写入发生变化的行
      * </p>
      *
      * @param solution 解决方案实体
@@ -118,16 +137,198 @@ public class SolutionOperations {
         solution.setTitle(updateDTO.getTitle());
         solution.setDifficulty(updateDTO.getDifficulty());
         solution.setVersion(updateDTO.getVersion());
+        VersionRange.applyTo(solution);
         solution.setDescription(updateDTO.getDescription());
         solution.setNotes(updateDTO.getNotes());
         solution.setUpdatedAt(LocalDateTime.now());
         solutionMapper.update(solution);
 
-        stepMapper.deleteBySolutionId(solution.getId());
-        imageMapper.deleteBySolutionId(solution.getId());
+        syncSteps(solution.getId(), updateDTO.getSteps(), stepMapper);
+        syncImages(solution.getId(), imageUrls, imageMapper);
+    }
 
-        addSteps(solution.getId(), updateDTO.getSteps(), stepMapper);
-        addImages(solution.getId(), imageUrls, imageMapper);
+    /**
+     * 按合并补丁更新解决方案
+     * <p>
+     * 只比较补丁中出现的字段：基本信息有变化时才更新解决方案行，
+     * 补丁包含steps或images时才读取并比对对应的子表。
+     * </p>
+     *
+     * @param solution 解决方案实体
+     * @param patch 合并补丁
+     * @param solutionMapper 解决方案数据访问接口
+     * @param stepMapper 解决方案步骤数据访问接口
+     * @param imageMapper 解决方案图片数据访问接口
+     * @return 是否有数据被写入
+     */
+    public boolean applyPatch(Solution solution, SolutionPatch patch,
+                              SolutionMapper solutionMapper, SolutionStepMapper stepMapper,
+                              SolutionImageMapper imageMapper) {
+        boolean coreChanged = false;
+        if (patch.has(SolutionPatch.TITLE) && !patch.text(SolutionPatch.TITLE).equals(solution.getTitle())) {
+            solution.setTitle(patch.text(SolutionPatch.TITLE));
+            coreChanged = true;
+        }
+        if (patch.has(SolutionPatch.DIFFICULTY) && !patch.text(SolutionPatch.DIFFICULTY).equals(solution.getDifficulty())) {
+            solution.setDifficulty(patch.text(SolutionPatch.DIFFICULTY));
+            coreChanged = true;
+        }
+        if (patch.has(SolutionPatch.VERSION) && !patch.text(SolutionPatch.VERSION).equals(solution.getVersion())) {
+            solution.setVersion(patch.text(SolutionPatch.VERSION));
+            VersionRange.applyTo(solution);
+            coreChanged = true;
+        }
+        if (patch.has(SolutionPatch.DESCRIPTION) && !patch.text(SolutionPatch.DESCRIPTION).equals(solution.getDescription())) {
+            solution.setDescription(patch.text(SolutionPatch.DESCRIPTION));
+            coreChanged = true;
+        }
+        if (patch.has(SolutionPatch.NOTES) && !Objects.equals(patch.text(SolutionPatch.NOTES), solution.getNotes())) {
+            solution.setNotes(patch.text(SolutionPatch.NOTES));
+            coreChanged = true;
+        }
+
+        boolean childrenChanged = false;
+        if (patch.has(SolutionPatch.STEPS)) {
+            childrenChanged = syncSteps(solution.getId(), patch.list(SolutionPatch.STEPS), stepMapper);
+        }
+        if (patch.has(SolutionPatch.IMAGES)) {
+            childrenChanged |= syncImages(solution.getId(), patch.list(SolutionPatch.IMAGES), imageMapper);
+        }
+
+        if (coreChanged || childrenChanged) {
+            solution.setUpdatedAt(LocalDateTime.now());
+            solutionMapper.update(solution);
+        }
+        return coreChanged || childrenChanged;
+    }
+
+    /**
+     * 将解决方案步骤同步为给定内容
+     * <p>
+     * 先按内容与已存储的步骤配对：内容相同的行保留，位置变化时只更新序号；
+     * 剩余的新内容优先原地改写未配对的旧行，仍有多余时批量插入，最后多余的旧行按ID批量删除。
+     * 因此在列表中间插入或删除一步只改动其后各行的序号，不会重写它们的内容。
+     * 内容未变时不产生任何写操作，保留下来的行ID保持不变。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param steps 新的步骤内容列表（为null视为清空）
+     * @param mapper 解决方案步骤数据访问接口
+     * @return 是否有行被写入
+     */
+    public boolean syncSteps(String solutionId, List<String> steps, SolutionStepMapper mapper) {
+        List<String> target = steps != null ? steps : List.of();
+        List<SolutionStep> stored = mapper.findStepsBySolutionId(solutionId);
+        RowDiff<SolutionStep> diff = RowDiff.of(stored, target, SolutionStep::getContent);
+
+        boolean changed = false;
+        List<SolutionStep> inserted = new ArrayList<>();
+        for (int i = 0; i < target.size(); i++) {
+            SolutionStep step = diff.matched().get(i);
+            int order = i + 1;
+            if (step != null) {
+                if (!Objects.equals(step.getStepOrder(), order)) {
+                    step.setStepOrder(order);
+                    mapper.updateOrder(step);
+                    changed = true;
+                }
+            } else if (!diff.unmatched().isEmpty()) {
+                step = diff.unmatched().poll();
+                step.setStepOrder(order);
+                step.setContent(target.get(i));
+                mapper.update(step);
+                changed = true;
+            } else {
+                step = new SolutionStep();
+                step.setSolutionId(solutionId);
+                step.setStepOrder(order);
+                step.setContent(target.get(i));
+                inserted.add(step);
+            }
+        }
+
+        inBatches(inserted, mapper::batchInsert);
+        List<Long> removed = diff.unmatched().stream().map(SolutionStep::getId).toList();
+        inBatches(removed, mapper::deleteByIds);
+        return changed || !inserted.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * 将解决方案图片同步为给定URL列表
+     * <p>
+     * 比对规则同{@link #syncSteps}，按URL配对。
+     * </p>
+     *
+     * @param solutionId 解决方案ID
+     * @param imageUrls 新的图片URL列表（为null视为清空）
+     * @param mapper 解决方案图片数据访问接口
+     * @return 是否有行被写入
+     */
+    public boolean syncImages(String solutionId, List<String> imageUrls, SolutionImageMapper mapper) {
+        List<String> target = imageUrls != null ? imageUrls : List.of();
+        List<SolutionImage> stored = mapper.findImagesBySolutionId(solutionId);
+        RowDiff<SolutionImage> diff = RowDiff.of(stored, target, SolutionImage::getImageUrl);
+
+        boolean changed = false;
+        List<SolutionImage> inserted = new ArrayList<>();
+        for (int i = 0; i < target.size(); i++) {
+            SolutionImage image = diff.matched().get(i);
+            int order = i + 1;
+            if (image != null) {
+                if (!Objects.equals(image.getImageOrder(), order)) {
+                    image.setImageOrder(order);
+                    mapper.updateOrder(image);
+                    changed = true;
+                }
+            } else if (!diff.unmatched().isEmpty()) {
+                image = diff.unmatched().poll();
+                image.setImageOrder(order);
+                image.setImageUrl(target.get(i));
+                mapper.update(image);
+                changed = true;
+            } else {
+                image = new SolutionImage();
+                image.setSolutionId(solutionId);
+                image.setImageOrder(order);
+                image.setImageUrl(target.get(i));
+                inserted.add(image);
+            }
+        }
+
+        inBatches(inserted, mapper::batchInsert);
+        List<Integer> removed = diff.unmatched().stream().map(SolutionImage::getId).toList();
+        inBatches(removed, mapper::deleteByIds);
+        return changed || !inserted.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * 已存储子表行与目标内容的配对结果
+     *
+     * @param matched 与目标列表等长，元素为内容相同的已存储行，无相同内容时为null
+     * @param unmatched 未配对的已存储行，按原顺序排列
+     */
+    private record RowDiff<R>(List<R> matched, Deque<R> unmatched) {
+
+        static <R> RowDiff<R> of(List<R> stored, List<String> target, Function<R, String> content) {
+            // 重复内容按出现顺序依次配对
+            Map<String, Deque<R>> byContent = new HashMap<>();
+            for (R row : stored) {
+                byContent.computeIfAbsent(content.apply(row), key -> new ArrayDeque<>()).add(row);
+            }
+            List<R> matched = new ArrayList<>(target.size());
+            Set<R> used = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String value : target) {
+                Deque<R> candidates = byContent.get(value);
+                R row = candidates != null ? candidates.poll() : null;
+                matched.add(row);
+                if (row != null) used.add(row);
+            }
+            Deque<R> unmatched = new ArrayDeque<>();
+            for (R row : stored) {
+                if (!used.contains(row)) unmatched.add(row);
+            }
+            return new RowDiff<>(matched, unmatched);
+        }
     }
 
     /**
@@ -146,4 +347,13 @@ public class SolutionOperations {
         stepMapper.deleteBySolutionId(solutionId);
         imageMapper.deleteBySolutionId(solutionId);
     }
+
+    /**
+     * 分段执行批量语句，避免单条语句超出max_allowed_packet
+     */
+    private static <T> void inBatches(List<T> rows, Consumer<List<T>> statement) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            statement.accept(rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
 }
\ No newline at end of file
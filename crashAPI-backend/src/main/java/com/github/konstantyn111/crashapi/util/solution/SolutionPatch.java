@@ -0,0 +1,137 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionDTO;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.util.*;
+
+/**
+ * 解决方案的合并补丁（JSON Merge Patch，RFC 7386）
+ * <p>
+ * 字段名与{@link SolutionDTO}一致：未出现的字段保持不变，值为null表示清空，
+ * 数组（steps、images）整体替换。只有notes可以清空，其余文本字段为必填列，
+ * 出现时必须是非空字符串。
+ * </p>
+ * <p>
+ * 补丁不可变。解决方案的字段都是扁平的，两个补丁按先后顺序合并即等价于依次应用。
+ * </p>
+ */
+public final class SolutionPatch {
+
+    public static final String TITLE = "title";
+    public static final String DIFFICULTY = "difficulty";
+    public static final String VERSION = "version";
+    public static final String DESCRIPTION = "description";
+    public static final String NOTES = "notes";
+    public static final String STEPS = "steps";
+    public static final String IMAGES = "images";
+
+    private static final Set<String> REQUIRED_TEXT = Set.of(TITLE, DIFFICULTY, VERSION, DESCRIPTION);
+    private static final Set<String> LISTS = Set.of(STEPS, IMAGES);
+
+    private final Map<String, Object> fields;
+
+    private SolutionPatch(Map<String, Object> fields) {
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * 校验并构造补丁
+     *
+     * @param body 请求体
+     * @return 补丁
+     * @throws BusinessException 当包含不可修改的字段或字段类型不符时抛出
+     */
+    public static SolutionPatch of(Map<String, Object> body) {
+        if (body == null) {
+            throw invalid("补丁内容不能为空");
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : body.entrySet()) {
+            String name = entry.getKey();
+            Object value = entry.getValue();
+            if (REQUIRED_TEXT.contains(name)) {
+                if (!(value instanceof String text) || text.isBlank()) {
+                    throw invalid(name + "必须是非空字符串");
+                }
+                if (DIFFICULTY.equals(name) && !SolutionUtils.DIFFICULTIES.contains(text)) {
+                    throw invalid("无效的难度: " + text);
+                }
+                fields.put(name, text);
+            } else if (NOTES.equals(name)) {
+                if (value != null && !(value instanceof String)) {
+                    throw invalid("notes必须是字符串或null");
+                }
+                fields.put(name, value);
+            } else if (LISTS.contains(name)) {
+                fields.put(name, toStringList(name, value));
+            } else {
+                throw invalid("字段不存在或不可修改: " + name);
+            }
+        }
+        return new SolutionPatch(fields);
+    }
+
+    /**
+     * 把较新的补丁合并到当前补丁之上
+     */
+    public SolutionPatch merge(SolutionPatch newer) {
+        Map<String, Object> merged = new LinkedHashMap<>(fields);
+        merged.putAll(newer.fields);
+        return new SolutionPatch(merged);
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    public boolean has(String field) {
+        return fields.containsKey(field);
+    }
+
+    public String text(String field) {
+        return (String) fields.get(field);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> list(String field) {
+        return (List<String>) fields.get(field);
+    }
+
+    /**
+     * 把补丁叠加到解决方案视图上，不写入数据库
+     */
+    public void applyTo(SolutionDTO dto) {
+        if (has(TITLE)) dto.setTitle(text(TITLE));
+        if (has(DIFFICULTY)) dto.setDifficulty(text(DIFFICULTY));
+        if (has(VERSION)) dto.setVersion(text(VERSION));
+        if (has(DESCRIPTION)) dto.setDescription(text(DESCRIPTION));
+        if (has(NOTES)) dto.setNotes(text(NOTES));
+        if (has(STEPS)) dto.setSteps(list(STEPS));
+        if (has(IMAGES)) dto.setImages(list(IMAGES));
+    }
+
+    private static List<String> toStringList(String name, Object value) {
+        // 按合并补丁语义，数组置null即清空
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> items)) {
+            throw invalid(name + "必须是字符串数组");
+        }
+        List<String> result = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (!(item instanceof String text) || text.isBlank()) {
+                throw invalid(name + "只能包含非空字符串");
+            }
+            result.add(text);
+        }
+        return List.copyOf(result);
+    }
+
+    private static BusinessException invalid(String message) {
+        return new BusinessException(ErrorCode.INVALID_PARAMETER, HttpStatus.BAD_REQUEST, message);
+    }
+}
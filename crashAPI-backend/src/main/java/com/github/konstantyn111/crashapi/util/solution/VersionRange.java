@@ -0,0 +1,121 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minecraft版本区间
+ * <p>
+ * 把自由填写的版本文本（如“1.20.1”、“1.16-1.18”、“1.16+”、“1.12.2, 1.16.5”）
+ * 归一化为闭区间[min, max]，版本按 主*1000000 + 次*1000 + 修订 编码为整数。
+ * 只写到次版本号（如“1.18”或“1.18.x”）时覆盖该次版本的全部修订。
+ * 多段版本取覆盖全部段的最小区间；识别不出MC版本（如“全版本”、“Forge 47.x”）时视为适用于全部版本。
+ * </p>
+ *
+ * @param min 区间下界（含）
+ * @param max 区间上界（含）
+ */
+public record VersionRange(int min, int max) {
+
+    public static final int MAX_VERSION = Integer.MAX_VALUE;
+    public static final VersionRange ANY = new VersionRange(0, MAX_VERSION);
+
+    private static final int MAX_COMPONENT = 999;
+
+    private static final String VERSION = "(?<![\\w.])1\\.\\d{1,3}(?:\\.(?:\\d{1,3}|x))?(?![\\w.]*\\d)";
+    private static final Pattern RANGE = Pattern.compile(
+            "(?<below><=|≤|<)?\\s*(?<from>" + VERSION + ")\\s*(?:"
+                    + "-\\s*(?<to>" + VERSION + ")"
+                    + "|(?<plus>\\+|及以上|以上|or later|and above|or newer)"
+                    + "|(?<under>及以下|以下|or earlier|and below)"
+                    + ")?");
+    private static final Pattern POINT = Pattern.compile("1\\.(\\d{1,3})(?:\\.(\\d{1,3}))?");
+
+    /**
+     * 解析版本文本
+     *
+     * @param version 版本文本
+     * @return 覆盖全部版本段的区间，无法识别时返回{@link #ANY}
+     */
+    public static VersionRange parse(String version) {
+        if (version == null || version.isBlank()) {
+            return ANY;
+        }
+        String text = version.toLowerCase(Locale.ROOT)
+                .replace('–', '-').replace('~', '-').replace('～', '-')
+                .replace(" to ", "-").replace("至", "-");
+
+        int min = MAX_VERSION;
+        int max = 0;
+        boolean found = false;
+        Matcher matcher = RANGE.matcher(text);
+        while (matcher.find()) {
+            String from = matcher.group("from");
+            int lower;
+            int upper;
+            if (matcher.group("to") != null) {
+                // 两端可能倒序书写（如“1.18-1.16”），区间取两端版本的并集
+                String to = matcher.group("to");
+                lower = Math.min(encode(from, false), encode(to, false));
+                upper = Math.max(encode(from, true), encode(to, true));
+            } else if (matcher.group("plus") != null) {
+                lower = encode(from, false);
+                upper = MAX_VERSION;
+            } else if (matcher.group("under") != null || matcher.group("below") != null) {
+                lower = 0;
+                upper = encode(from, true);
+            } else {
+                lower = encode(from, false);
+                upper = encode(from, true);
+            }
+            min = Math.min(min, Math.min(lower, upper));
+            max = Math.max(max, Math.max(lower, upper));
+            found = true;
+        }
+        return found ? new VersionRange(min, max) : ANY;
+    }
+
+    /**
+     * 解析查询用的单个版本
+     *
+     * @param version 版本，如“1.20.1”，只写次版本时按“.0”处理
+     * @return 编码后的版本，格式无效时返回-1
+     */
+    public static int parsePoint(String version) {
+        if (version == null) return -1;
+        Matcher matcher = POINT.matcher(version.trim());
+        if (!matcher.matches()) return -1;
+        int minor = Integer.parseInt(matcher.group(1));
+        int patch = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+        return 1_000_000 + minor * 1_000 + patch;
+    }
+
+    /**
+     * 按版本文本设置解决方案的区间列
+     */
+    public static void applyTo(Solution solution) {
+        VersionRange range = parse(solution.getVersion());
+        solution.setVersionMin(range.min());
+        solution.setVersionMax(range.max());
+    }
+
+    public boolean contains(int version) {
+        return version >= min && version <= max;
+    }
+
+    private static int encode(String version, boolean upper) {
+        String[] parts = version.split("\\.");
+        int major = Integer.parseInt(parts[0]);
+        int minor = Math.min(Integer.parseInt(parts[1]), MAX_COMPONENT);
+        int patch;
+        if (parts.length < 3 || parts[2].equals("x")) {
+            patch = upper ? MAX_COMPONENT : 0;
+        } else {
+            patch = Math.min(Integer.parseInt(parts[2]), MAX_COMPONENT);
+        }
+        return major * 1_000_000 + minor * 1_000 + patch;
+    }
+}
@@ -8,12 +8,10 @@ import com.github.konstantyn111.crashapi.entity.user.User;
 import com.github.konstantyn111.crashapi.exception.BusinessException;
 import com.github.konstantyn111.crashapi.exception.ErrorCode;
 import com.github.konstantyn111.crashapi.mapper.user.AdminApplicationMapper;
-import com.github.konstantyn111.crashapi.mapper.user.RoleMapper;
 import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import com.github.konstantyn111.crashapi.security.UserSecurityCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Set;
 
@@ -69,41 +67,12 @@ public class UserUtils {
         public static final String ADMIN_ROLE = "ROLE_ADMIN";
         public static final String DEVELOPER_ROLE = "ROLE_DEV";
 
-        public static Role getAdminRole(RoleMapper roleMapper) {
-            return roleMapper.findByName(ADMIN_ROLE)
+        public static Role getAdminRole(UserSecurityCache userSecurityCache) {
+            return userSecurityCache.findRole(ADMIN_ROLE)
                     .orElseThrow(() -> new RuntimeException("管理员角色未配置"));
         }
     }
 
-    /**
-     * 权限安全验证
-     */
-    public static class Security {
-        public static User validateDeveloperPermissions(UserMapper userMapper) {
-            return validateRolePermissions(userMapper, RoleUtils.DEVELOPER_ROLE, "开发者");
-        }
-
-        public static void validateAdminPermissions(UserMapper userMapper) {
-            validateRolePermissions(userMapper, RoleUtils.ADMIN_ROLE, "管理员");
-        }
-
-        private static User validateRolePermissions(UserMapper userMapper, String requiredRole, String roleName) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String username = authentication.getName();
-            User currentUser = userMapper.findByUsername(username)
-                    .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND,
-                            HttpStatus.NOT_FOUND,
-                            "当前用户不存在"));
-            if (!userMapper.hasRole(currentUser.getId(), requiredRole)) {
-                log.warn("用户：[{}] 正在访问未授权节点！", username);
-                throw new BusinessException(ErrorCode.PERMISSION_DENIED,
-                        HttpStatus.FORBIDDEN,
-                        "只有" + roleName + "能执行此操作哟~");
-            }
-            return currentUser;
-        }
-    }
-
     /**
      * 数据存在性验证
      */
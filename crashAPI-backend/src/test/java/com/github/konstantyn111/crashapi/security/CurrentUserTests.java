@@ -0,0 +1,74 @@
+package com.github.konstantyn111.crashapi.security;
+
+import com.github.konstantyn111.crashapi.entity.user.User;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.mapper.user.UserMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CurrentUserTests {
+
+    private UserMapper userMapper;
+    private CurrentUser currentUser;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        currentUser = new CurrentUser(userMapper);
+
+        User principalUser = User.builder().id(7L).username("admin1").enabled(true).build();
+        CustomUserDetails details = new CustomUserDetails(principalUser, Set.of("ROLE_ADMIN"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void roleChecksResolveFromPrincipalWithoutDatabase() {
+        User admin = currentUser.requireAdmin();
+        currentUser.requireAdmin();
+
+        assertEquals(7L, admin.getId());
+        assertEquals(7L, currentUser.id());
+        assertTrue(currentUser.hasRole("ROLE_ADMIN"));
+        assertThrows(BusinessException.class, currentUser::requireDeveloper);
+
+        assertEquals(0, currentUser.getDatabaseLookups());
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    void fullUserIsLoadedAtMostOncePerRequest() {
+        User stored = User.builder().id(7L).username("admin1").email("admin1@example.com").build();
+        when(userMapper.findById(7L)).thenReturn(Optional.of(stored));
+
+        assertSame(stored, currentUser.load());
+        assertSame(stored, currentUser.load());
+        currentUser.requireAdmin();
+
+        assertEquals(1, currentUser.getDatabaseLookups());
+        verify(userMapper, times(1)).findById(7L);
+        verifyNoMoreInteractions(userMapper);
+    }
+
+    @Test
+    void unauthenticatedRequestIsRejected() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(BusinessException.class, currentUser::id);
+        assertEquals(0, currentUser.getDatabaseLookups());
+    }
+}
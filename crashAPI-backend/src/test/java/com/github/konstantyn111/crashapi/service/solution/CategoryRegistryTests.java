@@ -0,0 +1,84 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.Category;
+import com.github.konstantyn111.crashapi.mapper.solution.CategoryMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CategoryRegistryTests {
+
+    private CategoryMapper mapper;
+    private CategoryRegistry registry;
+
+    private static Category category(String id, String name) {
+        return Category.builder().id(id).name(name).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(CategoryMapper.class);
+        when(mapper.findAll()).thenReturn(List.of(category("c1", "崩溃"), category("c2", "模组")));
+        registry = new CategoryRegistry(mapper);
+    }
+
+    @Test
+    void loadsLazilyAndServesFromSnapshot() {
+        long before = registry.version();
+        verifyNoInteractions(mapper);
+
+        assertEquals("模组", registry.nameOf("c2"));
+        assertNull(registry.nameOf("missing"));
+        assertNull(registry.nameOf(null));
+        assertEquals(2, registry.getAll().size());
+        assertTrue(registry.version() > before);
+        verify(mapper, times(1)).findAll();
+    }
+
+    @Test
+    void everyReloadAdvancesVersionEvenWithinTheSameMillisecond() {
+        long previous = registry.snapshot().version();
+        for (int i = 0; i < 100; i++) {
+            registry.reload();
+            long version = registry.version();
+            assertTrue(version > previous, version + " 不大于 " + previous);
+            previous = version;
+        }
+    }
+
+    @Test
+    void refreshReplacesSnapshotWithNewerVersion() {
+        CategoryRegistry.Snapshot before = registry.snapshot();
+        when(mapper.findAll()).thenReturn(List.of(category("c1", "游戏崩溃")));
+
+        registry.refresh();
+
+        CategoryRegistry.Snapshot after = registry.snapshot();
+        assertTrue(after.version() > before.version());
+        assertEquals("游戏崩溃", registry.nameOf("c1"));
+        assertTrue(registry.find("c2").isEmpty());
+        // 旧快照保持不变
+        assertEquals("崩溃", before.byId().get("c1").getName());
+        assertThrows(UnsupportedOperationException.class, () -> after.categories().clear());
+    }
+
+    @Test
+    void failedRefreshDropsSnapshotAndStillAdvancesVersion() {
+        long loaded = registry.snapshot().version();
+        when(mapper.findAll()).thenThrow(new QueryTimeoutException("timeout"));
+
+        registry.refresh();
+        long failed = registry.version();
+        assertTrue(failed > loaded);
+
+        reset(mapper);
+        when(mapper.findAll()).thenReturn(List.of(category("c3", "渲染")));
+        assertEquals("渲染", registry.nameOf("c3"));
+        assertTrue(registry.version() > failed);
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.util.solution.SolutionPatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SolutionAutosaveBufferTests {
+
+    private static SolutionPatch title(String title) {
+        return SolutionPatch.of(Map.of("title", title));
+    }
+
+    @Test
+    void takeWaitsOnlyForWriteOfSameSolution() throws Exception {
+        SolutionService service = mock(SolutionService.class);
+        SolutionAutosaveBuffer buffer = new SolutionAutosaveBuffer(service, 10);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(service).saveAutosave(eq("s1"), any(), any());
+
+        buffer.submit("s1", 1L, title("第一版"));
+        CompletableFuture<Void> flush = CompletableFuture.runAsync(buffer::flush);
+        try {
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            buffer.submit("s2", 1L, title("另一方案"));
+
+            // 其他方案不受正在进行的写入影响
+            assertTrue(buffer.take("s2").isPresent());
+
+            CompletableFuture<Optional<SolutionAutosaveBuffer.Pending>> taken =
+                    CompletableFuture.supplyAsync(() -> buffer.take("s1"));
+            assertThrows(TimeoutException.class, () -> taken.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            assertTrue(taken.get(5, TimeUnit.SECONDS).isEmpty());
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void failedWriteIsRestoredBeforeNewerPatches() {
+        SolutionService service = mock(SolutionService.class);
+        SolutionAutosaveBuffer buffer = new SolutionAutosaveBuffer(service, 10);
+        doThrow(new IllegalStateException("连接超时")).when(service).saveAutosave(eq("s1"), any(), any());
+
+        buffer.submit("s1", 1L, SolutionPatch.of(Map.of("title", "旧标题", "notes", "旧备注")));
+        buffer.flush();
+        buffer.submit("s1", 2L, title("新标题"));
+
+        SolutionAutosaveBuffer.Pending pending = buffer.peek("s1").orElseThrow();
+        assertEquals(2L, pending.userId());
+        assertEquals("新标题", pending.patch().text(SolutionPatch.TITLE));
+        assertEquals("旧备注", pending.patch().text(SolutionPatch.NOTES));
+    }
+
+    @Test
+    void restoredPatchKeepsNewerFieldsOnTop() {
+        SolutionAutosaveBuffer buffer = new SolutionAutosaveBuffer(mock(SolutionService.class), 10);
+        buffer.submit("s1", 1L, SolutionPatch.of(Map.of("title", "旧标题", "notes", "旧备注")));
+        SolutionAutosaveBuffer.Pending taken = buffer.take("s1").orElseThrow();
+
+        buffer.submit("s1", 1L, title("新标题"));
+        buffer.restore("s1", taken);
+
+        SolutionPatch patch = buffer.peek("s1").orElseThrow().patch();
+        assertEquals("新标题", patch.text(SolutionPatch.TITLE));
+        assertEquals("旧备注", patch.text(SolutionPatch.NOTES));
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.entity.solution.SolutionCounter;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionCounterMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class SolutionCounterBufferTests {
+
+    /**
+     * 按方案累加写入的增量
+     */
+    private static Map<String, long[]> captureWrites(SolutionCounterMapper mapper) {
+        Map<String, long[]> written = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            List<SolutionCounter> deltas = invocation.getArgument(0);
+            for (SolutionCounter delta : deltas) {
+                long[] totals = written.computeIfAbsent(delta.getSolutionId(), id -> new long[2]);
+                totals[0] += delta.getViews();
+                totals[1] += delta.getHelpful();
+            }
+            return null;
+        }).when(mapper).batchIncrement(anyList());
+        return written;
+    }
+
+    @Test
+    void flushWritesEveryConcurrentIncrementExactlyOnce() throws Exception {
+        SolutionCounterMapper mapper = mock(SolutionCounterMapper.class);
+        Map<String, long[]> written = captureWrites(mapper);
+        SolutionCounterBuffer buffer = new SolutionCounterBuffer(mapper, "");
+
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        buffer.recordView("s" + (i % 4));
+                        if (i % 5 == 0) {
+                            buffer.recordHelpful("s" + (i % 4));
+                        }
+                    }
+                }));
+            }
+            // 写入期间持续刷新，增量既不能丢也不能重复
+            while (!futures.stream().allMatch(Future::isDone)) {
+                buffer.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        buffer.flush();
+        buffer.flush();
+
+        for (int s = 0; s < 4; s++) {
+            long[] totals = written.get("s" + s);
+            assertEquals(threads * perThread / 4, totals[0]);
+            assertEquals(threads * perThread / 5 / 4, totals[1]);
+        }
+    }
+
+    @Test
+    void failedWriteIsRetriedAndCountedWhileUnflushed() {
+        SolutionCounterMapper mapper = mock(SolutionCounterMapper.class);
+        when(mapper.findBySolutionId("s1")).thenReturn(Optional.of(new SolutionCounter("s1", 10L, 2L)));
+        Map<String, long[]> written = captureWrites(mapper);
+        SolutionCounterBuffer buffer = new SolutionCounterBuffer(mapper, "");
+
+        buffer.recordView("s1");
+        buffer.recordHelpful("s1");
+        doThrow(new QueryTimeoutException("timeout")).when(mapper).batchIncrement(anyList());
+        buffer.flush();
+
+        assertEquals(11, buffer.get("s1").getViews());
+        assertEquals(3, buffer.get("s1").getHelpful());
+
+        written = captureWrites(mapper);
+        buffer.recordView("s1");
+        buffer.flush();
+        assertArrayEquals(new long[]{2, 1}, written.get("s1"));
+    }
+
+    @Test
+    void unwrittenIncrementsSurviveRestartThroughSpillFile(@TempDir Path dir) throws Exception {
+        Path spillFile = dir.resolve("counters.tsv");
+        SolutionCounterMapper failing = mock(SolutionCounterMapper.class);
+        doThrow(new QueryTimeoutException("down")).when(failing).batchIncrement(any());
+
+        SolutionCounterBuffer before = new SolutionCounterBuffer(failing, spillFile.toString());
+        before.recordView("s1");
+        before.recordView("s1");
+        before.recordHelpful("s2");
+        before.shutdown();
+        assertTrue(Files.exists(spillFile));
+
+        SolutionCounterMapper mapper = mock(SolutionCounterMapper.class);
+        Map<String, long[]> written = captureWrites(mapper);
+        SolutionCounterBuffer after = new SolutionCounterBuffer(mapper, spillFile.toString());
+        after.recoverSpilled();
+        after.flush();
+
+        assertFalse(Files.exists(spillFile));
+        assertArrayEquals(new long[]{2, 0}, written.get("s1"));
+        assertArrayEquals(new long[]{0, 1}, written.get("s2"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.security.CurrentUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SolutionEngagementServiceTests {
+
+    private SolutionService solutionService;
+    private SolutionCounterBuffer counters;
+    private SolutionTrendingIndex trending;
+    private CurrentUser currentUser;
+    private SolutionEngagementService service;
+
+    @BeforeEach
+    void setUp() {
+        solutionService = mock(SolutionService.class);
+        counters = mock(SolutionCounterBuffer.class);
+        trending = mock(SolutionTrendingIndex.class);
+        currentUser = mock(CurrentUser.class);
+        service = new SolutionEngagementService(solutionService, mock(SolutionMapper.class),
+                mock(SolutionVersionIndex.class), counters, trending, currentUser, 60_000, 100);
+    }
+
+    @Test
+    void helpfulVoteCountsOncePerUserAndSolution() {
+        when(currentUser.id()).thenReturn(1L);
+        assertTrue(service.markSolutionHelpful("s1").isSuccess());
+        assertTrue(service.markSolutionHelpful("s1").isSuccess());
+        service.markSolutionHelpful("s2");
+
+        when(currentUser.id()).thenReturn(2L);
+        service.markSolutionHelpful("s1");
+
+        verify(counters, times(2)).recordHelpful("s1");
+        verify(counters, times(1)).recordHelpful("s2");
+        verify(trending, times(2)).recordHelpful("s1");
+    }
+
+    @Test
+    void viewsOfMissingSolutionsAreNotCounted() {
+        doThrow(new BusinessException(ErrorCode.SOLUTION_NOT_FOUND, HttpStatus.NOT_FOUND, "解决方案不存在"))
+                .when(solutionService).requireViewable("missing");
+
+        service.recordView("missing");
+        service.recordView("s1");
+
+        verify(counters, never()).recordView("missing");
+        verify(counters).recordView("s1");
+        verify(trending).recordView("s1");
+    }
+}
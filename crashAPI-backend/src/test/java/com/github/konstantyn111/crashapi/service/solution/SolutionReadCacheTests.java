@@ -0,0 +1,129 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionReadCacheTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SolutionReadCache cache;
+
+    private SolutionReadCache cache(long ttlMillis, long staleWhileRevalidateMillis) {
+        cache = new SolutionReadCache(registry, new SolutionVersionStamps(),
+                10, 10, ttlMillis, staleWhileRevalidateMillis, 1);
+        return cache;
+    }
+
+    private static SolutionDTO detail(String title) {
+        return SolutionDTO.builder().id("s1").title(title).build();
+    }
+
+    private double coalesced() {
+        return registry.get("solution.read.cache.coalesced").functionCounter().count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "等待超时");
+            Thread.sleep(5);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentMissesOnSameKeyLoadOnce() throws Exception {
+        SolutionReadCache cache = cache(60_000, 0);
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<SolutionDTO>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.getDetail("s1", () -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return detail("v1");
+                })));
+            }
+            // 首个请求加载期间，其余请求全部合并到同一次加载上后再放行
+            await(() -> coalesced() == callers - 1);
+            release.countDown();
+
+            SolutionDTO first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<SolutionDTO> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertSame(first, cache.getDetail("s1", () -> fail("命中缓存时不应再加载")));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loaderFailureIsSharedAndNotCached() {
+        SolutionReadCache cache = cache(60_000, 0);
+        assertThrows(IllegalStateException.class, () -> cache.getDetail("s1", () -> {
+            throw new IllegalStateException("数据库不可用");
+        }));
+        assertEquals("v1", cache.getDetail("s1", () -> detail("v1")).getTitle());
+    }
+
+    @Test
+    void expiredEntryIsServedStaleWhileRefreshingInBackground() throws Exception {
+        SolutionReadCache cache = cache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+        cache.getDetail("s1", () -> {
+            loads.incrementAndGet();
+            return detail("v1");
+        });
+        Thread.sleep(150);
+
+        assertEquals("v1", cache.getDetail("s1", () -> {
+            loads.incrementAndGet();
+            return detail("v2");
+        }).getTitle());
+        assertEquals(1.0, ((FunctionCounter) registry.get("solution.read.cache.stale.served").meter()).count());
+
+        await(() -> "v2".equals(cache.getDetail("s1", () -> detail("v2")).getTitle()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evictedEntryIsNeverServedStale() {
+        SolutionReadCache cache = cache(60_000, 60_000);
+        cache.getDetail("s1", () -> detail("v1"));
+
+        cache.evict("s1", false);
+
+        assertEquals("v2", cache.getDetail("s1", () -> detail("v2")).getTitle());
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionSearchHitDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionStep;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SolutionSearchIndexTests {
+
+    private SolutionSearchIndex index;
+
+    private static Solution solution(String id, String title, String description, String... steps) {
+        return Solution.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .steps(Arrays.stream(steps)
+                        .map(content -> SolutionStep.builder().content(content).build())
+                        .toList())
+                .build();
+    }
+
+    private static List<String> ids(Page<SolutionSearchHitDTO> page) {
+        return page.getContent().stream().map(hit -> hit.getSolution().getId()).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        SolutionMapper mapper = mock(SolutionMapper.class);
+        when(mapper.findAllPublishedWithDetails()).thenReturn(List.of(
+                solution("body", "启动失败", "加载光影后内存不足，游戏崩溃"),
+                solution("title", "内存不足导致崩溃", "调整启动参数"),
+                solution("long", "模组冲突", "很长的说明：" + "检查日志中的异常类名并逐个排查模组，".repeat(20) + "内存不足"),
+                solution("steps", "黑屏", "进入世界后黑屏", "更新显卡驱动", "删除OptiFine")));
+        index = new SolutionSearchIndex(mapper);
+        index.rebuild();
+    }
+
+    @Test
+    void titleMatchesRankAboveBodyMatchesAndLongDocumentsLast() {
+        Page<SolutionSearchHitDTO> page = index.search("内存不足", PageRequest.of(0, 10));
+
+        assertEquals(List.of("title", "body", "long"), ids(page));
+        assertEquals(3, page.getTotalElements());
+        List<SolutionSearchHitDTO> hits = page.getContent();
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+    }
+
+    @Test
+    void rareTermsOutweighCommonOnes() {
+        // “崩溃”出现在两篇文档中，“光影”只出现在一篇，包含罕见词的文档排在前面
+        assertEquals(List.of("body", "title"), ids(index.search("光影 崩溃", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void searchesStepsAndIdentifiersCaseInsensitively() {
+        assertEquals(List.of("steps"), ids(index.search("optifine", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(index.search("fabric", PageRequest.of(0, 10))));
+        assertEquals(List.of(), ids(index.search("  ", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void pagesAndFiltersWithoutChangingOrder() {
+        Page<SolutionSearchHitDTO> second = index.search("内存不足", PageRequest.of(1, 2));
+        assertEquals(List.of("long"), ids(second));
+        assertEquals(3, second.getTotalElements());
+
+        Page<SolutionSearchHitDTO> filtered = index.search("内存不足", PageRequest.of(0, 10), id -> !id.equals("title"));
+        assertEquals(List.of("body", "long"), ids(filtered));
+        assertEquals(2, filtered.getTotalElements());
+    }
+
+    @Test
+    void refreshDuringRebuildIsReplayedAfterInstall() throws Exception {
+        SolutionMapper mapper = mock(SolutionMapper.class);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 全量构建读到的是发布前的数据
+        when(mapper.findAllPublishedWithDetails()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of(solution("old", "黑屏", "更新驱动"));
+        });
+        Solution published = solution("new", "内存不足", "调整启动参数");
+        published.setStatus("已发布");
+        when(mapper.findByIdWithDetails("new")).thenReturn(Optional.of(published));
+        SolutionSearchIndex building = new SolutionSearchIndex(mapper);
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(building::rebuild);
+        try {
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            building.refresh("new");
+            verify(mapper, never()).findByIdWithDetails("new");
+        } finally {
+            release.countDown();
+        }
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("new"), ids(building.search("内存不足", PageRequest.of(0, 10))));
+        assertEquals(List.of("old"), ids(building.search("黑屏", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void categoryRenameUpdatesHitSummaries() {
+        SolutionMapper mapper = mock(SolutionMapper.class);
+        Solution solution = solution("s1", "内存不足", "调整启动参数");
+        solution.setCategoryId("startup");
+        when(mapper.findAllPublishedWithDetails()).thenReturn(List.of(solution));
+        SolutionSearchIndex renamed = new SolutionSearchIndex(mapper);
+        renamed.rebuild();
+
+        renamed.renameCategory("startup", "启动问题");
+        renamed.renameCategory("network", "联机问题");
+
+        SolutionSearchHitDTO hit = renamed.search("内存不足", PageRequest.of(0, 10)).getContent().get(0);
+        assertEquals("启动问题", hit.getSolution().getCategoryName());
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.konstantyn111.crashapi.service.solution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SolutionTrendingIndexTests {
+
+    private static final long HALF_LIFE = 1_000;
+
+    private final Map<String, String> published = new HashMap<>();
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private SolutionTrendingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SolutionVersionIndex versionIndex = mock(SolutionVersionIndex.class);
+        when(versionIndex.categoryOf(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(published.get(invocation.<String>getArgument(0))));
+        published.put("a", "crash");
+        published.put("b", "crash");
+        published.put("c", "mods");
+        published.put("d", "crash");
+        index = new SolutionTrendingIndex(versionIndex, 2, HALF_LIFE, clock::get);
+    }
+
+    private void views(String solutionId, int count) {
+        for (int i = 0; i < count; i++) {
+            index.recordView(solutionId);
+        }
+    }
+
+    private static List<String> ids(List<SolutionTrendingIndex.Ranked> ranked) {
+        return ranked.stream().map(SolutionTrendingIndex.Ranked::solutionId).toList();
+    }
+
+    @Test
+    void ranksWeightedEventsOverallAndPerCategory() {
+        views("a", 3);
+        index.recordHelpful("b");
+        index.recordMatch("c");
+        views("unpublished", 100);
+        index.apply();
+
+        assertEquals(List.of("b", "a"), ids(index.top(null, 10)));
+        assertEquals(List.of("b", "a"), ids(index.top("crash", 10)));
+        assertEquals(List.of("c"), ids(index.top("mods", 10)));
+        assertEquals(List.of("b"), ids(index.top(null, 1)));
+        assertEquals(SolutionTrendingIndex.HELPFUL_WEIGHT, index.top(null, 1).get(0).score(), 1e-9);
+    }
+
+    @Test
+    void olderEventsDecayByHalfLife() {
+        views("a", 10);
+        index.apply();
+        clock.addAndGet(HALF_LIFE);
+        views("b", 6);
+        index.apply();
+
+        List<SolutionTrendingIndex.Ranked> top = index.top("crash", 2);
+        assertEquals(List.of("b", "a"), ids(top));
+        assertEquals(6, top.get(0).score(), 1e-9);
+        assertEquals(5, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void boundedHeapAdmitsRisingSolutionsAndRefillsAfterRemoval() {
+        views("a", 5);
+        views("b", 4);
+        views("d", 1);
+        index.apply();
+        assertEquals(List.of("a", "b"), ids(index.top("crash", 2)));
+
+        views("d", 5);
+        index.apply();
+        assertEquals(List.of("d", "a"), ids(index.top("crash", 2)));
+
+        published.remove("d");
+        index.refresh("d");
+        assertEquals(List.of("a", "b"), ids(index.top("crash", 2)));
+        assertEquals(List.of("a", "b"), ids(index.top(null, 2)));
+    }
+
+    @Test
+    void movesSolutionWhenCategoryChanges() {
+        views("a", 2);
+        index.apply();
+        published.put("a", "mods");
+        index.refresh("a");
+
+        assertEquals(List.of(), ids(index.top("crash", 2)));
+        assertEquals(List.of("a"), ids(index.top("mods", 2)));
+    }
+
+    @Test
+    void rebasingKeepsOrderAndScores() {
+        views("a", 4);
+        views("b", 2);
+        index.apply();
+        clock.addAndGet(100 * HALF_LIFE);
+        views("c", 1);
+        index.apply();
+
+        List<SolutionTrendingIndex.Ranked> top = index.top(null, 2);
+        assertEquals(List.of("c", "a"), ids(top));
+        assertEquals(1, top.get(0).score(), 1e-9);
+        assertEquals(4 * Math.pow(2, -100), top.get(1).score(), 1e-36);
+    }
+}
@@ -0,0 +1,202 @@
+package com.github.konstantyn111.crashapi.util.crash;
+
+import com.github.konstantyn111.crashapi.dto.crash.CrashReportDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrashReportParserTests {
+
+    private static final String FORGE_REPORT = """
+            ---- Minecraft Crash Report ----
+            // Who set us up the TNT?
+
+            Time: 2024-01-01 12:00:00
+            Description: Ticking entity
+
+            java.lang.RuntimeException: Ticking entity
+            \tat net.minecraft.world.level.Level.guardEntityTick(Level.java:100)
+            \tat net.minecraft.server.MinecraftServer.tickServer(MinecraftServer.java:200)
+            Caused by: java.lang.IllegalStateException: bad state
+            \tat com.example.mod.Ticker.tick(Ticker.java:10)
+            Caused by: java.lang.NullPointerException: Cannot invoke "Object.toString()"
+            \tat com.example.mod.Ticker.lambda$tick$0(Ticker.java:12)
+            \tat com.example.mod.Ticker.inner(Ticker.java:13)
+            \t... 5 more
+
+
+            A detailed walkthrough of the error, its code path and all known details is as follows:
+            ---------------------------------------------------------------------------------------
+
+            -- Head --
+            Thread: Server thread
+            Stacktrace:
+            \tat java.lang.Thread.run(Thread.java:833)
+
+            -- Affected level --
+            Details:
+            \tLevel name: ServerLevel[world]
+
+            -- System Details --
+            Details:
+            \tMinecraft Version: 1.20.1
+            \tJava Version: 17.0.8, Eclipse Adoptium
+            \tModLauncher launch target: forgeclient
+            \tMod List:\s
+            \t\tforge-47.1.0.jar         |Forge              |forge         |47.1.0      |DONE      |Manifest: NOSIGNATURE
+            \t\tclient-1.20.1.jar        |Minecraft          |minecraft     |1.20.1      |DONE      |Manifest: a1:d4
+            \t\tjei-1.20.1.jar           |Just Enough Items  |jei           |15.2.0.27   |DONE      |Manifest: NOSIGNATURE
+            \tCrash Report UUID: 0f2c
+            """;
+
+    private static final String FABRIC_REPORT = """
+            ---- Minecraft Crash Report ----
+            Description: Unexpected error
+
+            java.lang.OutOfMemoryError: Java heap space
+            \tat net.minecraft.class_1234.method_5678(class_1234.java:42)
+
+            -- System Details --
+            Details:
+            \tMinecraft Version: 1.20.4
+            \tFabric Mods:\s
+            \t\tfabric-api: Fabric API 0.91.1+1.20.4
+            \t\tsodium: Sodium 0.5.8+mc1.20.4
+            \tLaunched Version: fabric-loader-0.15.0-1.20.4
+            """;
+
+    private static CrashReportDTO parse(String text, long maxChars) throws IOException {
+        return new CrashReportParser(maxChars).parse(new StringReader(text));
+    }
+
+    private static CrashReportDTO parse(String text) throws IOException {
+        return parse(text, Long.MAX_VALUE);
+    }
+
+    private static List<String> modIds(CrashReportDTO report) {
+        return report.getMods().stream().map(CrashReportDTO.ModInfo::getId).toList();
+    }
+
+    @Test
+    void parsesForgeReport() throws IOException {
+        CrashReportDTO report = parse(FORGE_REPORT);
+
+        assertEquals("Ticking entity", report.getDescription());
+        assertEquals("java.lang.RuntimeException", report.getException().getType());
+        assertEquals("1.20.1", report.getMinecraftVersion());
+        assertEquals("17.0.8", report.getJavaVersion());
+        assertEquals("forge", report.getModLoader());
+        assertEquals(List.of("forge", "jei"), modIds(report));
+        assertEquals("15.2.0.27", report.getMods().get(1).getVersion());
+        assertEquals("ServerLevel[world]", report.getAffectedLevel().get("Level name"));
+        assertEquals("0f2c", report.getSystemDetails().get("Crash Report UUID"));
+        assertFalse(report.isTruncated());
+    }
+
+    @Test
+    void keepsCauseChainAndOnlyRootCauseFrames() throws IOException {
+        CrashReportDTO report = parse(FORGE_REPORT);
+
+        assertEquals(List.of("java.lang.IllegalStateException", "java.lang.NullPointerException"),
+                report.getCauses().stream().map(CrashReportDTO.ExceptionInfo::getType).toList());
+        assertEquals("Cannot invoke \"Object.toString()\"", report.getCauses().get(1).getMessage());
+        // 详情区Stacktrace下的栈帧不属于异常链
+        assertEquals(List.of("com.example.mod.Ticker.lambda$tick$0(Ticker.java:12)",
+                "com.example.mod.Ticker.inner(Ticker.java:13)"), report.getStackFrames());
+        assertEquals(StackTraceFingerprint.of("java.lang.NullPointerException", report.getStackFrames()),
+                report.getFingerprint());
+    }
+
+    @Test
+    void parsesFabricModList() throws IOException {
+        CrashReportDTO report = parse(FABRIC_REPORT);
+
+        assertEquals("java.lang.OutOfMemoryError", report.getException().getType());
+        assertEquals("Java heap space", report.getException().getMessage());
+        assertEquals("fabric", report.getModLoader());
+        assertEquals(List.of("fabric-api", "sodium"), modIds(report));
+        assertEquals("0.5.8+mc1.20.4", report.getMods().get(1).getVersion());
+    }
+
+    @Test
+    void detectsVersionsInLatestLog() throws IOException {
+        CrashReportDTO report = parse("""
+                [12:00:00] [main/INFO]: Loading Minecraft 1.19.2 with Fabric Loader 0.14.9
+                [12:00:01] [main/INFO]: Java is OpenJDK 64-Bit Server VM, version 17.0.5
+                """);
+
+        assertEquals("1.19.2", report.getMinecraftVersion());
+        assertEquals("17.0.5", report.getJavaVersion());
+        assertEquals("fabric", report.getModLoader());
+        assertNull(report.getException());
+        assertNull(report.getFingerprint());
+    }
+
+    @Test
+    void crlfAndCrLineEndingsParseLikeLf() throws IOException {
+        CrashReportDTO expected = parse(FORGE_REPORT);
+        for (String separator : List.of("\r\n", "\r")) {
+            String text = FORGE_REPORT.replace("\n", separator);
+            // 每次只读一个字符，使CR与LF落在不同的读取块中
+            CrashReportDTO report = new CrashReportParser(Long.MAX_VALUE).parse(new OneCharReader(text));
+
+            assertEquals(expected.getDescription(), report.getDescription());
+            assertEquals(expected.getCauses().size(), report.getCauses().size());
+            assertEquals(expected.getStackFrames(), report.getStackFrames());
+            assertEquals(modIds(expected), modIds(report));
+            assertEquals(expected.getFingerprint(), report.getFingerprint());
+        }
+    }
+
+    @Test
+    void overLongLinesAreCutAndParsingContinues() throws IOException {
+        String message = "x".repeat(10_000);
+        CrashReportDTO report = parse("java.lang.IllegalStateException: " + message + "\n"
+                + "\tat com.example.mod.Ticker.tick(Ticker.java:10)\n");
+
+        assertTrue(report.isTruncated());
+        assertEquals("java.lang.IllegalStateException", report.getException().getType());
+        assertTrue(report.getException().getMessage().length() < 2048);
+        assertEquals(List.of("com.example.mod.Ticker.tick(Ticker.java:10)"), report.getStackFrames());
+    }
+
+    @Test
+    void stopsReadingAtCharacterLimit() throws IOException {
+        int cut = FORGE_REPORT.indexOf("\t\tjei");
+        CrashReportDTO report = parse(FORGE_REPORT, cut);
+
+        assertTrue(report.isTruncated());
+        assertEquals(cut, report.getCharsRead());
+        assertEquals(List.of("forge"), modIds(report));
+
+        CrashReportDTO exact = parse(FORGE_REPORT, FORGE_REPORT.length());
+        assertFalse(exact.isTruncated());
+        assertEquals(FORGE_REPORT.length(), exact.getCharsRead());
+    }
+
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position >= text.length()) return -1;
+            if (length == 0) return 0;
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.konstantyn111.crashapi.util.crash;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.konstantyn111.crashapi.util.crash.StackTraceFingerprint.normalizeFrame;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StackTraceFingerprintTests {
+
+    private static final String NPE = "java.lang.NullPointerException";
+
+    @Test
+    void stripsLocationAndModulePrefixes() {
+        assertEquals("java.lang.Thread.run", normalizeFrame("\tat java.base/java.lang.Thread.run(Thread.java:833)"));
+        assertEquals("net.minecraft.server.MinecraftServer.tickServer", normalizeFrame(
+                "at TRANSFORMER/minecraft@1.20.1/net.minecraft.server.MinecraftServer.tickServer(MinecraftServer.java:10)"));
+        assertEquals("com.example.Main.main", normalizeFrame("at app//com.example.Main.main(Main.java:5)"));
+        assertEquals("com.example.Main.main", normalizeFrame("com.example.Main.main(Unknown Source)"));
+    }
+
+    @Test
+    void replacesLambdaAndAnonymousClassNumbers() {
+        assertEquals("com.example.Foo.lambda$onTick", normalizeFrame("at com.example.Foo.lambda$onTick$3(Foo.java:42)"));
+        assertEquals("com.example.Foo$$Lambda.accept",
+                normalizeFrame("at com.example.Foo$$Lambda$123/0x0000000800c01234.accept(Unknown Source)"));
+        assertEquals("com.example.Foo$$Lambda.run",
+                normalizeFrame("at com.example.Foo$$Lambda/0x00000008001a2b3c.run(Unknown Source)"));
+        assertEquals("com.example.Foo$.run", normalizeFrame("at com.example.Foo$1.run(Foo.java:7)"));
+    }
+
+    @Test
+    void replacesObfuscatedAndMixinNames() {
+        assertEquals("net.minecraft.world.level.Level.m_", normalizeFrame(
+                "at net.minecraft.world.level.Level.m_46653_(Level.java:479)"));
+        assertEquals("net.minecraft.world.World.func_", normalizeFrame(
+                "at net.minecraft.world.World.func_217390_a(World.java:600)"));
+        assertEquals("net.minecraft.class_.method_", normalizeFrame(
+                "at net.minecraft.class_1937.method_8441(class_1937.java:100)"));
+        assertEquals("net.minecraft.client.Minecraft.handler$onTick", normalizeFrame(
+                "at net.minecraft.client.Minecraft.handler$zfk000$onTick(Minecraft.java:1)"));
+        assertEquals("net.minecraft.client.Minecraft.redirect$render", normalizeFrame(
+                "at net.minecraft.client.Minecraft.redirect$a1b2c3$render(Minecraft.java:1)"));
+    }
+
+    @Test
+    void fingerprintIgnoresLineNumbersLambdaIdsAndReflection() {
+        String first = StackTraceFingerprint.of(NPE, List.of(
+                "com.example.Foo.lambda$tick$0(Foo.java:12)",
+                "com.example.Foo.tick(Foo.java:20)"));
+        String second = StackTraceFingerprint.of(NPE, List.of(
+                "com.example.Foo.lambda$tick$7(Foo.java:99)",
+                "java.base/jdk.internal.reflect.NativeMethodAccessorImpl.invoke0(Native Method)",
+                "java.base/java.lang.reflect.Method.invoke(Method.java:568)",
+                "com.example.Foo.tick(Foo.java:21)"));
+
+        assertEquals(64, first.length());
+        assertEquals(first, second);
+        assertNotEquals(first, StackTraceFingerprint.of("java.lang.IllegalStateException", List.of(
+                "com.example.Foo.lambda$tick$0(Foo.java:12)",
+                "com.example.Foo.tick(Foo.java:20)")));
+    }
+
+    @Test
+    void fingerprintUsesOnlyTopFrames() {
+        List<String> top = List.of("a.A.a()", "b.B.b()", "c.C.c()", "d.D.d()", "e.E.e()");
+        String expected = StackTraceFingerprint.of(NPE, top);
+
+        List<String> deeper = new ArrayList<>(top);
+        deeper.add("f.F.f()");
+        assertEquals(StackTraceFingerprint.TOP_FRAMES, top.size());
+        assertEquals(expected, StackTraceFingerprint.of(NPE, deeper));
+        assertNotEquals(expected, StackTraceFingerprint.of(NPE, top.subList(0, 4)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AhoCorasickTests {
+
+    private static List<Integer> scan(AhoCorasick automaton, String text) {
+        List<Integer> matches = new ArrayList<>();
+        automaton.scan(text, matches::add);
+        return matches;
+    }
+
+    @Test
+    void reportsOverlappingAndNestedPatternsAtEachEndPosition() {
+        AhoCorasick automaton = AhoCorasick.builder()
+                .add("he", 0)
+                .add("she", 1)
+                .add("his", 2)
+                .add("hers", 3)
+                .build();
+
+        assertEquals(4, automaton.patternCount());
+        assertEquals(List.of(1, 0, 3), scan(automaton, "ushers"));
+        assertEquals(List.of(2, 1, 0), scan(automaton, "hishe"));
+        assertEquals(List.of(), scan(automaton, "xyz"));
+    }
+
+    @Test
+    void foldsCaseOfPatternsAndInput() {
+        AhoCorasick automaton = AhoCorasick.builder()
+                .add("NullPointerException", 7)
+                .add("mixin", 8)
+                .build();
+
+        assertEquals(List.of(7), scan(automaton, "java.lang.NULLPOINTEREXCEPTION: null"));
+        assertEquals(List.of(8, 7), scan(automaton, "Mixin apply failed -> nullpointerexception"));
+    }
+
+    @Test
+    void reportsEveryIdOfSharedPatternAndIgnoresEmptyOnes() {
+        AhoCorasick automaton = AhoCorasick.builder()
+                .add("oom", 1)
+                .add("OOM", 2)
+                .add("", 3)
+                .add(null, 4)
+                .build();
+
+        assertEquals(2, automaton.patternCount());
+        assertEquals(List.of(1, 2, 1, 2), scan(automaton, "oomoom"));
+    }
+
+    @Test
+    void matchesSpanningChunkBoundaries() {
+        AhoCorasick automaton = AhoCorasick.builder()
+                .add("OutOfMemoryError", 0)
+                .add("Error", 1)
+                .build();
+        char[] text = "Exception: java.lang.OutOfMemoryError: Java heap space".toCharArray();
+
+        for (int chunk = 1; chunk <= 8; chunk++) {
+            AhoCorasick.Scanner scanner = automaton.scanner();
+            List<Integer> matches = new ArrayList<>();
+            for (int offset = 0; offset < text.length; offset += chunk) {
+                scanner.feed(text, offset, Math.min(chunk, text.length - offset), matches::add);
+            }
+            assertEquals(List.of(0, 1), matches, "分块大小" + chunk);
+        }
+    }
+
+    @Test
+    void agreesWithNaiveSearchOnRandomInput() {
+        Random random = new Random(42);
+        String alphabet = "abAB";
+        List<String> patterns = new ArrayList<>();
+        AhoCorasick.Builder builder = AhoCorasick.builder();
+        for (int i = 0; i < 30; i++) {
+            String pattern = randomString(random, alphabet, 1 + random.nextInt(4));
+            patterns.add(pattern);
+            builder.add(pattern, i);
+        }
+        AhoCorasick automaton = builder.build();
+
+        for (int round = 0; round < 50; round++) {
+            String text = randomString(random, alphabet, 200);
+            int[] actual = new int[patterns.size()];
+            automaton.scan(text, id -> actual[id]++);
+            String lower = text.toLowerCase(Locale.ROOT);
+            for (int id = 0; id < patterns.size(); id++) {
+                String pattern = patterns.get(id).toLowerCase(Locale.ROOT);
+                int expected = 0;
+                for (int from = lower.indexOf(pattern); from >= 0; from = lower.indexOf(pattern, from + 1)) {
+                    expected++;
+                }
+                assertEquals(expected, actual[id], "模式" + patterns.get(id));
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
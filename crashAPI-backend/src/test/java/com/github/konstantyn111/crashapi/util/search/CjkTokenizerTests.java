@@ -0,0 +1,38 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CjkTokenizerTests {
+
+    @Test
+    void splitsCjkRunsIntoBigrams() {
+        assertEquals(List.of("游戏", "戏崩", "崩溃"), CjkTokenizer.tokenize("游戏崩溃"));
+        assertEquals(List.of("内存", "不"), CjkTokenizer.tokenize("内存，不"));
+    }
+
+    @Test
+    void keepsIdentifiersWholeAndLowercased() {
+        assertEquals(List.of("java", "lang", "nullpointerexception"),
+                CjkTokenizer.tokenize("java.lang.NullPointerException"));
+        assertEquals(List.of("optifine", "hd", "u", "i6"), CjkTokenizer.tokenize("OptiFine HD_U_I6"));
+    }
+
+    @Test
+    void switchesBetweenScriptsWithoutSeparators() {
+        assertEquals(List.of("安装", "forge", "后崩", "崩溃", "1", "20"),
+                CjkTokenizer.tokenize("安装Forge后崩溃1.20"));
+        assertEquals(List.of("テス", "スト", "한국", "국어"), CjkTokenizer.tokenize("テスト 한국어"));
+    }
+
+    @Test
+    void handlesEmptyInputAndSupplementaryCharacters() {
+        assertEquals(List.of(), CjkTokenizer.tokenize(null));
+        assertEquals(List.of(), CjkTokenizer.tokenize(""));
+        assertEquals(List.of(), CjkTokenizer.tokenize(" ，。!"));
+        assertEquals(List.of("𠀀字"), CjkTokenizer.tokenize("𠀀字"));
+    }
+}
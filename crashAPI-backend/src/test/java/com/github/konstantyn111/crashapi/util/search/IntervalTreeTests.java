@@ -0,0 +1,67 @@
+package com.github.konstantyn111.crashapi.util.search;
+
+import com.github.konstantyn111.crashapi.util.search.IntervalTree.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTests {
+
+    private static List<String> stab(IntervalTree<String> tree, int point) {
+        List<String> values = new ArrayList<>();
+        tree.stab(point, interval -> values.add(interval.value()));
+        values.sort(null);
+        return values;
+    }
+
+    @Test
+    void endpointsAreInclusive() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+                new Interval<>(10, 20, "a"),
+                new Interval<>(20, 30, "b"),
+                new Interval<>(25, 25, "c"),
+                new Interval<>(0, Integer.MAX_VALUE, "any")));
+
+        assertEquals(4, tree.size());
+        assertEquals(List.of("any"), stab(tree, 9));
+        assertEquals(List.of("a", "any"), stab(tree, 10));
+        assertEquals(List.of("a", "any", "b"), stab(tree, 20));
+        assertEquals(List.of("any", "b", "c"), stab(tree, 25));
+        assertEquals(List.of("any"), stab(tree, 31));
+        assertEquals(List.of(), stab(tree, -1));
+    }
+
+    @Test
+    void emptyTreeMatchesNothing() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of());
+
+        assertEquals(0, tree.size());
+        assertEquals(List.of(), stab(tree, 0));
+    }
+
+    @Test
+    void agreesWithLinearScanOnRandomIntervals() {
+        Random random = new Random(7);
+        List<Interval<String>> intervals = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int min = random.nextInt(1_000);
+            intervals.add(new Interval<>(min, min + random.nextInt(100), "i" + i));
+        }
+        IntervalTree<String> tree = new IntervalTree<>(intervals);
+
+        for (int point = -5; point <= 1_105; point++) {
+            List<String> expected = new ArrayList<>();
+            for (Interval<String> interval : intervals) {
+                if (interval.min() <= point && point <= interval.max()) {
+                    expected.add(interval.value());
+                }
+            }
+            expected.sort(null);
+            assertEquals(expected, stab(tree, point), "查询点" + point);
+        }
+    }
+}
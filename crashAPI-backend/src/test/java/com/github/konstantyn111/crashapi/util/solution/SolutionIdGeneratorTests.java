@@ -0,0 +1,92 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionIdGeneratorTests {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void idsAreUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        SolutionIdGenerator generator = new SolutionIdGenerator(3);
+        Set<String> seen = ConcurrentHashMap.newKeySet(THREADS * IDS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String previous = null;
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        String id = generator.nextId();
+                        assertTrue(seen.add(id), "重复的ID: " + id);
+                        if (previous != null) {
+                            assertTrue(id.compareTo(previous) > 0, previous + " 之后生成了 " + id);
+                        }
+                        previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(THREADS * IDS_PER_THREAD, seen.size());
+    }
+
+    @Test
+    void staysMonotonicWhenClockStallsOrMovesBackwards() {
+        AtomicLong clock = new AtomicLong(SolutionIdGenerator.EPOCH + 1_000);
+        SolutionIdGenerator generator = new SolutionIdGenerator(0, clock::get);
+
+        long previous = generator.nextLong();
+        // 同一毫秒内用尽序列号后借用下一毫秒
+        for (int i = 0; i < 10_000; i++) {
+            long next = generator.nextLong();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        clock.addAndGet(-500);
+        long afterRollback = generator.nextLong();
+        assertTrue(afterRollback > previous);
+    }
+
+    @Test
+    void encodingIsFixedWidthAndPreservesOrder() {
+        SolutionIdGenerator generator = new SolutionIdGenerator(SolutionIdGenerator.MAX_NODE);
+        String id = generator.nextId();
+        assertEquals(14, id.length());
+        assertTrue(id.startsWith("s"));
+
+        assertTrue(SolutionIdGenerator.encode(31).compareTo(SolutionIdGenerator.encode(32)) < 0);
+        assertTrue(SolutionIdGenerator.encode(Long.MAX_VALUE - 1).compareTo(SolutionIdGenerator.encode(Long.MAX_VALUE)) < 0);
+        assertThrows(IllegalArgumentException.class, () -> new SolutionIdGenerator(SolutionIdGenerator.MAX_NODE + 1));
+    }
+
+    @Test
+    void newIdsSortAfterLegacyIds() {
+        assertEquals("sG000000000000", SolutionIdGenerator.encode(0));
+        assertEquals("sZZZZZZZZZZZZZ", SolutionIdGenerator.encode(-1));
+
+        String newest = new SolutionIdGenerator(0).nextId();
+        // 旧版格式：“s” + 毫秒时间戳 + 0到999的随机数
+        for (String legacy : List.of("s1", "s4", "s1718000000000999", "s9999999999999999")) {
+            assertTrue(SolutionIdGenerator.encode(0).compareTo(legacy) > 0, legacy);
+            assertTrue(newest.compareTo(legacy) > 0, legacy);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionCreateDTO;
+import com.github.konstantyn111.crashapi.entity.solution.Solution;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionImage;
+import com.github.konstantyn111.crashapi.entity.solution.SolutionStep;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionImageMapper;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionMapper;
+import com.github.konstantyn111.crashapi.mapper.solution.SolutionStepMapper;
+import com.github.konstantyn111.crashapi.service.solution.FileStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class SolutionOperationsTests {
+
+    private FileStorageService fileStorageService;
+    private SolutionStepMapper stepMapper;
+    private SolutionImageMapper imageMapper;
+    private SolutionOperations operations;
+
+    private final List<List<SolutionStep>> insertedSteps = new ArrayList<>();
+    private final List<List<SolutionImage>> insertedImages = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = mock(FileStorageService.class);
+        stepMapper = mock(SolutionStepMapper.class);
+        imageMapper = mock(SolutionImageMapper.class);
+        operations = new SolutionOperations(fileStorageService);
+
+        // 调用方传入的是subList视图，按调用时的内容拷贝下来
+        doAnswer(invocation -> insertedSteps.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(stepMapper).batchInsert(anyList());
+        doAnswer(invocation -> insertedImages.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(imageMapper).batchInsert(anyList());
+    }
+
+    @Test
+    void createIssuesOneStatementPerTableRegardlessOfStepCount() {
+        for (int stepCount : new int[]{1, 10, 100}) {
+            insertedSteps.clear();
+            insertedImages.clear();
+            clearInvocations(stepMapper, imageMapper);
+            when(fileStorageService.storeFiles(any())).thenReturn(urls(5));
+
+            operations.createStepsAndImages(solution(), createDTO(stepCount), stepMapper, imageMapper);
+
+            verify(stepMapper, times(1)).batchInsert(anyList());
+            verify(imageMapper, times(1)).batchInsert(anyList());
+            verify(stepMapper, never()).insert(any());
+            verify(imageMapper, never()).insert(any());
+            assertEquals(stepCount, insertedSteps.get(0).size());
+            assertEquals(5, insertedImages.get(0).size());
+        }
+    }
+
+    @Test
+    void batchRowsCarrySolutionIdAndOrder() {
+        when(fileStorageService.storeFiles(any())).thenReturn(urls(2));
+
+        operations.createStepsAndImages(solution(), createDTO(3), stepMapper, imageMapper);
+
+        List<SolutionStep> steps = insertedSteps.get(0);
+        for (int i = 0; i < steps.size(); i++) {
+            assertEquals("s-1", steps.get(i).getSolutionId());
+            assertEquals(i + 1, steps.get(i).getStepOrder());
+            assertEquals("step " + i, steps.get(i).getContent());
+        }
+        List<SolutionImage> images = insertedImages.get(0);
+        assertEquals("s-1", images.get(1).getSolutionId());
+        assertEquals(2, images.get(1).getImageOrder());
+        assertEquals("/uploads/1.png", images.get(1).getImageUrl());
+    }
+
+    @Test
+    void largeStepListsAreSplitIntoBoundedStatements() {
+        int stepCount = SolutionOperations.BATCH_SIZE * 2 + 1;
+        operations.addSteps("s-1", steps(stepCount), stepMapper);
+
+        verify(stepMapper, times(3)).batchInsert(anyList());
+        assertEquals(stepCount, insertedSteps.stream().mapToInt(List::size).sum());
+        assertEquals(stepCount, insertedSteps.get(2).get(0).getStepOrder());
+    }
+
+    @Test
+    void emptyChildrenIssueNoStatements() {
+        when(fileStorageService.storeFiles(any())).thenReturn(List.of());
+
+        operations.createStepsAndImages(solution(), createDTO(0), stepMapper, imageMapper);
+
+        verifyNoInteractions(stepMapper, imageMapper);
+    }
+
+    @Test
+    void unchangedChildrenAreNotWritten() {
+        when(stepMapper.findStepsBySolutionId("s-1")).thenReturn(storedSteps("a", "b", "c"));
+        when(imageMapper.findImagesBySolutionId("s-1")).thenReturn(storedImages("/x.png"));
+
+        operations.syncSteps("s-1", List.of("a", "b", "c"), stepMapper);
+        operations.syncImages("s-1", List.of("/x.png"), imageMapper);
+
+        verify(stepMapper).findStepsBySolutionId("s-1");
+        verify(imageMapper).findImagesBySolutionId("s-1");
+        verifyNoMoreInteractions(stepMapper, imageMapper);
+    }
+
+    @Test
+    void changedStepIsUpdatedInPlace() {
+        when(stepMapper.findStepsBySolutionId("s-1")).thenReturn(storedSteps("a", "b", "c"));
+
+        operations.syncSteps("s-1", List.of("a", "B", "c"), stepMapper);
+
+        ArgumentCaptor<SolutionStep> updated = ArgumentCaptor.forClass(SolutionStep.class);
+        verify(stepMapper, times(1)).update(updated.capture());
+        assertEquals(2L, updated.getValue().getId());
+        assertEquals("B", updated.getValue().getContent());
+        verify(stepMapper, never()).batchInsert(anyList());
+        verify(stepMapper, never()).deleteByIds(anyList());
+        verify(stepMapper, never()).deleteBySolutionId(any());
+    }
+
+    @Test
+    void appendedAndRemovedChildrenUseOneStatementEach() {
+        when(stepMapper.findStepsBySolutionId("s-1")).thenReturn(storedSteps("a"));
+        when(imageMapper.findImagesBySolutionId("s-1")).thenReturn(storedImages("/x.png", "/y.png", "/z.png"));
+
+        operations.syncSteps("s-1", List.of("a", "b", "c"), stepMapper);
+        operations.syncImages("s-1", List.of("/x.png"), imageMapper);
+
+        verify(stepMapper, never()).update(any());
+        verify(stepMapper, times(1)).batchInsert(anyList());
+        assertEquals(List.of(2, 3), insertedSteps.get(0).stream().map(SolutionStep::getStepOrder).toList());
+        verify(imageMapper, never()).update(any());
+        verify(imageMapper, times(1)).deleteByIds(List.of(2, 3));
+    }
+
+    @Test
+    void midListInsertRenumbersFollowingRowsWithoutRewritingThem() {
+        when(stepMapper.findStepsBySolutionId("s-1")).thenReturn(storedSteps("a", "b", "c"));
+
+        operations.syncSteps("s-1", List.of("a", "x", "b", "c"), stepMapper);
+
+        ArgumentCaptor<SolutionStep> moved = ArgumentCaptor.forClass(SolutionStep.class);
+        verify(stepMapper, times(2)).updateOrder(moved.capture());
+        assertEquals(List.of(2L, 3L), moved.getAllValues().stream().map(SolutionStep::getId).toList());
+        assertEquals(List.of(3, 4), moved.getAllValues().stream().map(SolutionStep::getStepOrder).toList());
+        verify(stepMapper, times(1)).batchInsert(anyList());
+        assertEquals(1, insertedSteps.get(0).size());
+        assertEquals("x", insertedSteps.get(0).get(0).getContent());
+        assertEquals(2, insertedSteps.get(0).get(0).getStepOrder());
+        verify(stepMapper, never()).update(any());
+        verify(stepMapper, never()).deleteByIds(anyList());
+    }
+
+    @Test
+    void midListRemovalAndReorderKeepImageRows() {
+        when(imageMapper.findImagesBySolutionId("s-1")).thenReturn(storedImages("/x.png", "/y.png", "/z.png"));
+
+        operations.syncImages("s-1", List.of("/z.png", "/x.png"), imageMapper);
+
+        verify(imageMapper, times(2)).updateOrder(any());
+        verify(imageMapper, times(1)).deleteByIds(List.of(2));
+        verify(imageMapper, never()).update(any());
+        verify(imageMapper, never()).batchInsert(anyList());
+    }
+
+    @Test
+    void patchWritesOnlyChangedFieldsAndLeavesChildTablesAlone() {
+        SolutionMapper solutionMapper = mock(SolutionMapper.class);
+        Solution solution = Solution.builder().id("s-1").title("old").notes("n").build();
+
+        SolutionPatch first = SolutionPatch.of(Map.of("title", "draft 1"));
+        SolutionPatch second = SolutionPatch.of(Map.of("title", "draft 2"));
+        boolean changed = operations.applyPatch(solution, first.merge(second),
+                solutionMapper, stepMapper, imageMapper);
+
+        assertTrue(changed);
+        assertEquals("draft 2", solution.getTitle());
+        assertEquals("n", solution.getNotes());
+        verify(solutionMapper, times(1)).update(solution);
+        verifyNoInteractions(stepMapper, imageMapper);
+
+        clearInvocations(solutionMapper);
+        assertFalse(operations.applyPatch(solution, second, solutionMapper, stepMapper, imageMapper));
+        verifyNoInteractions(solutionMapper);
+    }
+
+    private static Solution solution() {
+        return Solution.builder().id("s-1").build();
+    }
+
+    private static SolutionCreateDTO createDTO(int stepCount) {
+        return SolutionCreateDTO.builder()
+                .steps(steps(stepCount))
+                .imageFiles(List.of())
+                .build();
+    }
+
+    private static List<String> steps(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "step " + i).toList();
+    }
+
+    private static List<SolutionStep> storedSteps(String... contents) {
+        List<SolutionStep> steps = new ArrayList<>();
+        for (int i = 0; i < contents.length; i++) {
+            steps.add(new SolutionStep((long) i + 1, "s-1", i + 1, contents[i]));
+        }
+        return steps;
+    }
+
+    private static List<SolutionImage> storedImages(String... urls) {
+        List<SolutionImage> images = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            images.add(new SolutionImage(i + 1, "s-1", i + 1, urls[i]));
+        }
+        return images;
+    }
+
+    private static List<String> urls(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "/uploads/" + i + ".png").toList();
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import com.github.konstantyn111.crashapi.dto.solution.SolutionDTO;
+import com.github.konstantyn111.crashapi.exception.BusinessException;
+import com.github.konstantyn111.crashapi.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionPatchTests {
+
+    private static Map<String, Object> body(Object... entries) {
+        Map<String, Object> body = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            body.put((String) entries[i], entries[i + 1]);
+        }
+        return body;
+    }
+
+    private static void assertInvalid(Map<String, Object> body) {
+        BusinessException ex = assertThrows(BusinessException.class, () -> SolutionPatch.of(body));
+        assertEquals(ErrorCode.INVALID_PARAMETER, ex.getErrorCode());
+    }
+
+    private static SolutionDTO current() {
+        return SolutionDTO.builder()
+                .title("旧标题")
+                .difficulty("简单")
+                .version("1.20.1")
+                .description("旧描述")
+                .notes("旧备注")
+                .steps(List.of("旧步骤"))
+                .images(List.of("old.png"))
+                .build();
+    }
+
+    @Test
+    void appliesOnlyPresentFieldsAndNullClearsNotesAndLists() {
+        SolutionPatch patch = SolutionPatch.of(body(
+                SolutionPatch.TITLE, "新标题",
+                SolutionPatch.NOTES, null,
+                SolutionPatch.IMAGES, null,
+                SolutionPatch.STEPS, List.of("第一步", "第二步")));
+        SolutionDTO dto = current();
+        patch.applyTo(dto);
+
+        assertEquals("新标题", dto.getTitle());
+        assertEquals("旧描述", dto.getDescription());
+        assertEquals("1.20.1", dto.getVersion());
+        assertNull(dto.getNotes());
+        assertEquals(List.of(), dto.getImages());
+        assertEquals(List.of("第一步", "第二步"), dto.getSteps());
+        assertFalse(patch.has(SolutionPatch.DESCRIPTION));
+    }
+
+    @Test
+    void rejectsInvalidFields() {
+        assertInvalid(null);
+        assertInvalid(body("status", "已发布"));
+        assertInvalid(body("categoryId", "c1"));
+        assertInvalid(body(SolutionPatch.TITLE, null));
+        assertInvalid(body(SolutionPatch.TITLE, "  "));
+        assertInvalid(body(SolutionPatch.VERSION, 1.2));
+        assertInvalid(body(SolutionPatch.DIFFICULTY, "地狱"));
+        assertInvalid(body(SolutionPatch.NOTES, 42));
+        assertInvalid(body(SolutionPatch.STEPS, "第一步"));
+        assertInvalid(body(SolutionPatch.STEPS, Arrays.asList("第一步", null)));
+        assertInvalid(body(SolutionPatch.IMAGES, List.of("")));
+    }
+
+    @Test
+    void emptyBodyIsEmptyPatch() {
+        SolutionPatch patch = SolutionPatch.of(Map.of());
+        SolutionDTO dto = current();
+        patch.applyTo(dto);
+
+        assertTrue(patch.isEmpty());
+        assertEquals(current(), dto);
+    }
+
+    @Test
+    void mergingEqualsApplyingInOrder() {
+        SolutionPatch older = SolutionPatch.of(body(
+                SolutionPatch.TITLE, "第一次",
+                SolutionPatch.DIFFICULTY, "中等",
+                SolutionPatch.NOTES, "补充说明"));
+        SolutionPatch newer = SolutionPatch.of(body(
+                SolutionPatch.TITLE, "第二次",
+                SolutionPatch.NOTES, null,
+                SolutionPatch.STEPS, List.of("新步骤")));
+
+        SolutionDTO sequential = current();
+        older.applyTo(sequential);
+        newer.applyTo(sequential);
+        SolutionDTO merged = current();
+        older.merge(newer).applyTo(merged);
+
+        assertEquals(sequential, merged);
+        assertEquals("第二次", merged.getTitle());
+        assertEquals("中等", merged.getDifficulty());
+        assertNull(merged.getNotes());
+        // 合并不修改原有补丁
+        assertEquals("补充说明", older.text(SolutionPatch.NOTES));
+        assertFalse(older.has(SolutionPatch.STEPS));
+    }
+
+    @Test
+    void patchIsImmutable() {
+        List<String> steps = new ArrayList<>(List.of("第一步"));
+        SolutionPatch patch = SolutionPatch.of(body(SolutionPatch.STEPS, steps));
+        steps.add("第二步");
+
+        assertEquals(List.of("第一步"), patch.list(SolutionPatch.STEPS));
+        assertThrows(UnsupportedOperationException.class, () -> patch.list(SolutionPatch.STEPS).add("x"));
+    }
+}
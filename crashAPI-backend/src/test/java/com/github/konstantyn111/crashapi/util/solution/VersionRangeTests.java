@@ -0,0 +1,64 @@
+package com.github.konstantyn111.crashapi.util.solution;
+
+import org.junit.jupiter.api.Test;
+
+import static com.github.konstantyn111.crashapi.util.solution.VersionRange.ANY;
+import static com.github.konstantyn111.crashapi.util.solution.VersionRange.MAX_VERSION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionRangeTests {
+
+    private static VersionRange range(int min, int max) {
+        return new VersionRange(min, max);
+    }
+
+    @Test
+    void parsesSingleVersionsAndMinorWildcards() {
+        assertEquals(range(1_020_001, 1_020_001), VersionRange.parse("1.20.1"));
+        assertEquals(range(1_018_000, 1_018_999), VersionRange.parse("1.18"));
+        assertEquals(range(1_018_000, 1_018_999), VersionRange.parse("1.18.x"));
+        assertEquals(range(1_020_001, 1_020_001), VersionRange.parse("Forge 1.20.1"));
+    }
+
+    @Test
+    void parsesRangesAndOpenBounds() {
+        assertEquals(range(1_016_000, 1_018_999), VersionRange.parse("1.16-1.18"));
+        assertEquals(range(1_016_005, 1_018_002), VersionRange.parse("1.16.5 – 1.18.2"));
+        assertEquals(range(1_016_000, 1_018_999), VersionRange.parse("1.16至1.18"));
+        assertEquals(range(1_016_000, 1_018_999), VersionRange.parse("1.16 to 1.18"));
+        assertEquals(range(1_016_000, 1_018_999), VersionRange.parse("1.18-1.16"));
+        assertEquals(range(1_016_000, MAX_VERSION), VersionRange.parse("1.16+"));
+        assertEquals(range(1_016_000, MAX_VERSION), VersionRange.parse("1.16及以上"));
+        assertEquals(range(0, 1_012_002), VersionRange.parse("<=1.12.2"));
+        assertEquals(range(0, 1_012_002), VersionRange.parse("1.12.2及以下"));
+    }
+
+    @Test
+    void coversAllListedSegments() {
+        assertEquals(range(1_012_002, 1_016_005), VersionRange.parse("1.12.2, 1.16.5"));
+        assertEquals(range(1_007_010, MAX_VERSION), VersionRange.parse("1.16.5、1.7.10、1.20+"));
+    }
+
+    @Test
+    void unrecognizedTextAppliesToAllVersions() {
+        assertEquals(ANY, VersionRange.parse(null));
+        assertEquals(ANY, VersionRange.parse("  "));
+        assertEquals(ANY, VersionRange.parse("全版本"));
+        assertEquals(ANY, VersionRange.parse("Forge 47.1.0"));
+        assertEquals(ANY, VersionRange.parse("Java 21.0.1"));
+    }
+
+    @Test
+    void parsesQueryPoints() {
+        assertEquals(1_020_001, VersionRange.parsePoint("1.20.1"));
+        assertEquals(1_020_000, VersionRange.parsePoint(" 1.20 "));
+        assertEquals(-1, VersionRange.parsePoint("1.20.x"));
+        assertEquals(-1, VersionRange.parsePoint("2.0"));
+        assertEquals(-1, VersionRange.parsePoint("latest"));
+        assertEquals(-1, VersionRange.parsePoint(null));
+
+        assertTrue(VersionRange.parse("1.18").contains(VersionRange.parsePoint("1.18.2")));
+        assertFalse(VersionRange.parse("1.18").contains(VersionRange.parsePoint("1.19")));
+        assertTrue(ANY.contains(VersionRange.parsePoint("1.7.10")));
+    }
+}
@@ -1,11 +1,14 @@
-import { apiGet, apiPost, apiPut, apiDelete } from '@/utils/apiBase';
+import { apiGet, apiPost, apiPut, apiPatch, apiDelete } from '@/utils/apiBase';
 import type {
   UserInfoApiResponse,
   SolutionApiResponse,
   SolutionListApiResponse,
   SolutionCreateDTO,
   SolutionUpdateDTO,
+  SolutionPatch,
+  CategoryDTO,
   CategoryListApiResponse,
+  CategoryApiResponse,
   VoidApiResponse
 } from '@/types/api';
 
@@ -40,6 +43,22 @@ export const updateSolution = (
   return apiPut(`/admin/solutions/${solutionId}`, updateDTO, '更新解决方案失败');
 };
 
+/**
+ * 按合并补丁部分更新解决方案，只需包含要修改的字段
+ * PATCH /api/admin/solutions/{solutionId}
+ * autosave为true时仅暂存，服务端合并同一草稿的多次自动保存后定时写入
+ */
+export const patchSolution = (
+  solutionId: string,
+  patch: SolutionPatch,
+  autosave = false
+): Promise<SolutionApiResponse> => {
+  return apiPatch(`/admin/solutions/${solutionId}`, patch, autosave ? '自动保存失败' : '更新解决方案失败', {
+    params: autosave ? { autosave: true } : undefined,
+    headers: { 'Content-Type': 'application/merge-patch+json' }
+  });
+};
+
 /**
  * 删除解决方案
  * DELETE /api/admin/solutions/{solutionId}
@@ -87,4 +106,31 @@ export const getSolutionById = (solutionId: string): Promise<SolutionApiResponse
  */
 export const getAllCategories = (): Promise<CategoryListApiResponse> => {
   return apiGet('/admin/categories', '获取分类列表失败');
-};
\ No newline at end of file
+};
+
+/**
+ * 创建问题分类
+ * POST /api/admin/categories
+ */
+export const createCategory = (category: CategoryDTO): Promise<CategoryApiResponse> => {
+  return apiPost('/admin/categories', category, '创建分类失败');
+};
+
+/**
+ * 更新问题分类
+ * PUT /api/admin/categories/{categoryId}
+ */
+export const updateCategory = (
+  categoryId: string,
+  category: CategoryDTO
+): Promise<CategoryApiResponse> => {
+  return apiPut(`/admin/categories/${categoryId}`, category, '更新分类失败');
+};
+
+/**
+ * 删除问题分类
+ * DELETE /api/admin/categories/{categoryId}
+ */
+export const deleteCategory = (categoryId: string): Promise<VoidApiResponse> => {
+  return apiDelete(`/admin/categories/${categoryId}`, '删除分类失败');
+};
@@ -1,2 +1,3 @@
 export * from './auth';
-export * from './user';
\ No newline at end of file
+export * from './user';
+export * from './solution';
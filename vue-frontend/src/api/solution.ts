@@ -0,0 +1,12 @@
+import { apiGet } from '@/utils/apiBase';
+import type { SolutionTrendingDTO } from '@/types/api';
+
+/**
+ * 获取热门解决方案（按随时间衰减的浏览、“对我有帮助”与崩溃匹配得分排序）
+ * GET /api/solutions/trending
+ */
+export const getTrendingSolutions = (limit = 10, categoryId?: string): Promise<SolutionTrendingDTO[]> => {
+  return apiGet<SolutionTrendingDTO[]>('/solutions/trending', '获取热门解决方案失败', {
+    params: { limit, categoryId }
+  });
+};
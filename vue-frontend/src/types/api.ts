@@ -73,6 +73,23 @@ export interface SolutionDTO {
   images: string[];
 }
 
+// 列表摘要，不含正文、步骤与图片
+export interface SolutionSummaryDTO {
+  id: string;
+  title: string;
+  categoryId: string;
+  categoryName: string;
+  difficulty: string;
+  version: string;
+  updateTime: string;
+  createdByUsername: string;
+}
+
+export interface SolutionTrendingDTO {
+  solution: SolutionSummaryDTO;
+  score: number;
+}
+
 export interface SolutionCreateDTO {
   categoryId: string;
   title: string;
@@ -95,6 +112,17 @@ export interface SolutionUpdateDTO {
   existingImageUrls: string[];
 }
 
+// JSON Merge Patch：未出现的字段保持不变，notes为null表示清空
+export interface SolutionPatch {
+  title?: string;
+  difficulty?: string;
+  version?: string;
+  description?: string;
+  notes?: string | null;
+  steps?: string[];
+  images?: string[];
+}
+
 export interface CategoryDTO {
   id: string;
   name: string;
@@ -133,6 +161,7 @@ export type StringApiResponse = ApiResponse<string>;
 export type SolutionApiResponse = ApiResponse<SolutionDTO>;
 export type SolutionListApiResponse = ApiResponse<PageData<SolutionDTO>>;
 export type CategoryListApiResponse = ApiResponse<CategoryDTO[]>;
+export type CategoryApiResponse = ApiResponse<CategoryDTO>;
 export type AdminApplicationPageApiResponse = ApiResponse<PageData<AdminApplicationDTO>>;
 export type AdminApplicationStatusApiResponse = ApiResponse<AdminApplicationStatus>;
 export type SolutionPageApiResponse = ApiResponse<PageData<SolutionDTO>>;